@@ -0,0 +1,306 @@
+package asteroids;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import model.IFacade;
+import model.IFacade.ParseOutcome;
+import model.IFacade.TypeCheckOutcome;
+
+/**
+ * A runner advancing a world without a screen, at a fixed time step and as fast as the processor allows.
+ *
+ * Usage: HeadlessRunner [-scenario file] [-ai file] [-dt seconds] [-max-time seconds] [-until-one-ship] [-seed number] [-pool]
+ *
+ * A scenario file describes one entity per line; empty lines and lines starting with # are skipped.
+ * <pre>
+ *   world &lt;width&gt; &lt;height&gt;
+ *   ship &lt;x&gt; &lt;y&gt; &lt;xVelocity&gt; &lt;yVelocity&gt; &lt;radius&gt; &lt;direction&gt; &lt;mass&gt; [&lt;program file&gt;]
+ *   asteroid &lt;x&gt; &lt;y&gt; &lt;xVelocity&gt; &lt;yVelocity&gt; &lt;radius&gt;
+ * </pre>
+ * The world line comes first; program files are resolved against the directory of the scenario.
+ * Without a scenario, the world of a multi-player game against the AI program is used.
+ * With -pool, the world reuses its terminated bullets and asteroids.
+ */
+public class HeadlessRunner<World, Ship, Asteroid, Bullet, Program> {
+
+  public static final double DEFAULT_DT = 1. / 30;
+  public static final double DEFAULT_MAX_TIME = 60;
+
+  private final IFacade<World, Ship, Asteroid, Bullet, Program> facade;
+  private final double dt;
+  private final double maxTime;
+  private final boolean untilOneShip;
+
+  public HeadlessRunner(IFacade<World, Ship, Asteroid, Bullet, Program> facade, double dt, double maxTime, boolean untilOneShip) {
+    if (!(dt > 0) || Double.isInfinite(dt))
+      throw new IllegalArgumentException("invalid time step: " + dt);
+    if (!(maxTime >= 0))
+      throw new IllegalArgumentException("invalid maximum time: " + maxTime);
+    this.facade = facade;
+    this.dt = dt;
+    this.maxTime = maxTime;
+    this.untilOneShip = untilOneShip;
+  }
+
+  public IFacade<World, Ship, Asteroid, Bullet, Program> getFacade() {
+    return facade;
+  }
+
+  /**
+   * Evolve the given world at the fixed time step of this runner until the maximum time has been simulated,
+   * or until at most one ship is left if this runner stops there, and report how fast that went.
+   */
+  public Report run(World world) {
+    long start = System.nanoTime();
+    double time = 0;
+    long steps = 0;
+    while (!Util.fuzzyLessThanOrEqualTo(maxTime, time) && !(untilOneShip && facade.getShips(world).size() <= 1)) {
+      // the last step is shortened so that exactly the maximum time is simulated
+      double step = Math.min(dt, maxTime - time);
+      facade.evolve(world, step, SILENT);
+      time += step;
+      steps++;
+    }
+    return new Report(time, System.nanoTime() - start, steps, facade.getShips(world).size(), facade.getAsteroids(world).size());
+  }
+
+  /**
+   * Create the world of a multi-player game, in which the second ship runs the program at the given url, if any.
+   */
+  public World createDefaultScenario(URL aiProgramUrl, Random random) throws IOException {
+    World world = facade.createWorld(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    List<Ship> players = addDefaultShips(world);
+    if (aiProgramUrl != null)
+      facade.setShipProgram(players.get(1), loadProgram(aiProgramUrl));
+    addDefaultAsteroids(world, random);
+    return world;
+  }
+
+  public static final int DEFAULT_WIDTH = 1024;
+  public static final int DEFAULT_HEIGHT = 768;
+
+  /**
+   * Add the two ships of a multi-player game to the given world of default size, and return them.
+   */
+  public List<Ship> addDefaultShips(World world) {
+    int width = DEFAULT_WIDTH;
+    int height = DEFAULT_HEIGHT;
+    Ship player1 = facade.createShip(width / 5 * 4, height / 2., 0, 0, 40, Math.PI, 5E15);
+    facade.addShip(world, player1);
+    Ship player2 = facade.createShip(width / 5, height / 2., 0, 0, 40, 0, 5E15);
+    facade.addShip(world, player2);
+    return Arrays.asList(player1, player2);
+  }
+
+  /**
+   * Add the asteroids of a multi-player game to the given world of default size, splitting them with the given random source.
+   */
+  public void addDefaultAsteroids(World world, Random random) {
+    int width = DEFAULT_WIDTH;
+    int height = DEFAULT_HEIGHT;
+    facade.addAsteroid(world, facade.createAsteroid(width / 2.5, height / 2.5, 25, 50, 75, random));
+    facade.addAsteroid(world, facade.createAsteroid(600, 100, -30, -40, 40, random));
+    facade.addAsteroid(world, facade.createAsteroid(990, 550, -20, -3, 25, random));
+    facade.addAsteroid(world, facade.createAsteroid(40, height - 100, 10, -8, 15, random));
+  }
+
+  /**
+   * Create the world described by the given scenario, resolving program files against the given directory.
+   * Ships without a program of their own run the program at the given url, if any.
+   */
+  public World loadScenario(BufferedReader reader, File directory, URL aiProgramUrl, Random random) throws IOException {
+    World world = null;
+    Program aiProgram = (aiProgramUrl == null) ? null : loadProgram(aiProgramUrl);
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#"))
+        continue;
+      String[] words = line.split("\\s+");
+      try {
+        if (words[0].equals("world") && world == null && words.length == 3) {
+          world = facade.createWorld(parse(words[1]), parse(words[2]));
+        } else if (words[0].equals("ship") && world != null && (words.length == 8 || words.length == 9)) {
+          Ship ship = facade.createShip(parse(words[1]), parse(words[2]), parse(words[3]), parse(words[4]), parse(words[5]), parse(words[6]), parse(words[7]));
+          facade.addShip(world, ship);
+          if (words.length == 9)
+            facade.setShipProgram(ship, loadProgram(new File(directory, words[8]).toURI().toURL()));
+          else if (aiProgram != null)
+            facade.setShipProgram(ship, aiProgram);
+        } else if (words[0].equals("asteroid") && world != null && words.length == 6) {
+          facade.addAsteroid(world, facade.createAsteroid(parse(words[1]), parse(words[2]), parse(words[3]), parse(words[4]), parse(words[5]), random));
+        } else {
+          throw new IllegalArgumentException("unexpected line");
+        }
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("line " + lineNumber + ": " + line + " (" + e.getMessage() + ")", e);
+      }
+    }
+    if (world == null)
+      throw new IllegalArgumentException("no world in scenario");
+    return world;
+  }
+
+  private static double parse(String word) {
+    return Double.parseDouble(word);
+  }
+
+  /**
+   * Load, parse and type check the program at the given url.
+   */
+  public Program loadProgram(URL url) throws IOException {
+    return check(facade.loadProgramFromUrl(url));
+  }
+
+  /**
+   * Parse and type check the given program text.
+   */
+  public Program parseProgram(String text) {
+    return check(facade.parseProgram(text));
+  }
+
+  private Program check(ParseOutcome<Program> parseOutcome) {
+    if (!parseOutcome.isSuccessful())
+      throw new IllegalArgumentException(parseOutcome.getMessage());
+    Program program = parseOutcome.getProgram();
+    if (facade.isTypeCheckingSupported()) {
+      TypeCheckOutcome typeCheckOutcome = facade.typeCheckProgram(program);
+      if (!typeCheckOutcome.isSuccessful())
+        throw new IllegalArgumentException(typeCheckOutcome.getMessage());
+    }
+    return program;
+  }
+
+  private static final CollisionListener SILENT = new CollisionListener() {
+    @Override
+    public void boundaryCollision(Object entity, double x, double y) {
+    }
+
+    @Override
+    public void objectCollision(Object entity1, Object entity2, double x, double y) {
+    }
+  };
+
+  /**
+   * A report of a single run: how much time was simulated, how long that took and what was left of the world.
+   */
+  public static class Report {
+
+    private final double simulatedTime;
+    private final long wallNanos;
+    private final long steps;
+    private final int ships;
+    private final int asteroids;
+
+    public Report(double simulatedTime, long wallNanos, long steps, int ships, int asteroids) {
+      this.simulatedTime = simulatedTime;
+      this.wallNanos = wallNanos;
+      this.steps = steps;
+      this.ships = ships;
+      this.asteroids = asteroids;
+    }
+
+    public double getSimulatedTime() {
+      return simulatedTime;
+    }
+
+    public double getWallTime() {
+      return wallNanos / 1e9;
+    }
+
+    public long getSteps() {
+      return steps;
+    }
+
+    public int getShips() {
+      return ships;
+    }
+
+    public int getAsteroids() {
+      return asteroids;
+    }
+
+    /**
+     * Return the number of simulated seconds per wall-clock second.
+     */
+    public double getSpeedUp() {
+      return (wallNanos == 0) ? Double.POSITIVE_INFINITY : simulatedTime / getWallTime();
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "simulated %.3f s in %.3f s (%.1f simulated s per wall s), %d steps, %d ships, %d asteroids",
+          getSimulatedTime(), getWallTime(), getSpeedUp(), getSteps(), getShips(), getAsteroids());
+    }
+  }
+
+  public static void main(final String[] args) {
+    File scenario = null;
+    URL aiProgramUrl = null;
+    double dt = DEFAULT_DT;
+    double maxTime = DEFAULT_MAX_TIME;
+    boolean untilOneShip = false;
+    boolean pooling = false;
+    Random random = new Random();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        if (arg.equals("-until-one-ship")) {
+          untilOneShip = true;
+        } else if (arg.equals("-pool")) {
+          pooling = true;
+        } else if (i + 1 >= args.length) {
+          System.out.println("no value specified for " + arg);
+          return;
+        } else if (arg.equals("-scenario")) {
+          scenario = new File(args[++i]);
+        } else if (arg.equals("-ai")) {
+          File file = new File(args[++i]);
+          if (!file.exists()) {
+            System.out.println("file " + file + " not found");
+            return;
+          }
+          aiProgramUrl = file.toURI().toURL();
+        } else if (arg.equals("-dt")) {
+          dt = Double.parseDouble(args[++i]);
+        } else if (arg.equals("-max-time")) {
+          maxTime = Double.parseDouble(args[++i]);
+        } else if (arg.equals("-seed")) {
+          random = new Random(Long.parseLong(args[++i]));
+        } else {
+          System.out.println("unknown option: " + arg);
+          return;
+        }
+      }
+      // <begin>
+      IFacade<gameObjects.World, gameObjects.Ship, gameObjects.Asteroid, gameObjects.Bullet, model.Program> facade = new model.Facade();
+      // <end>
+      HeadlessRunner<gameObjects.World, gameObjects.Ship, gameObjects.Asteroid, gameObjects.Bullet, model.Program> runner =
+          new HeadlessRunner<>(facade, dt, maxTime, untilOneShip);
+      gameObjects.World world;
+      if (scenario == null) {
+        if (aiProgramUrl == null)
+          aiProgramUrl = HeadlessRunner.class.getClassLoader().getResource("asteroids/resources/program.txt");
+        world = runner.createDefaultScenario(aiProgramUrl, random);
+      } else {
+        try (BufferedReader reader = new BufferedReader(new FileReader(scenario))) {
+          world = runner.loadScenario(reader, scenario.getAbsoluteFile().getParentFile(), aiProgramUrl, random);
+        }
+      }
+      facade.setWorldPooling(world, pooling);
+      System.out.println(runner.run(world));
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,96 @@
+package asteroids;
+
+/**
+ * A clock turning the wall-clock time between frames into a number of simulation steps of fixed size.
+ *
+ * The elapsed time of each frame is added to an accumulator, from which whole steps are taken. The time of a single
+ * frame is capped, so that a long pause does not hand the simulation a huge interval, and so is the number of steps
+ * per frame; when that number is reached, the time still owed is dropped instead of being caught up on later frames,
+ * so that a simulation that cannot keep up does not fall further and further behind. The time left in the accumulator
+ * after the steps of a frame, as a fraction of a step, tells how far the frame lies between the last two states.
+ */
+public class SimulationClock {
+
+  public static final int DEFAULT_MAX_STEPS_PER_FRAME = 5;
+  public static final double DEFAULT_MAX_FRAME_TIME = 0.25;
+
+  private final double step;
+  private final int maxStepsPerFrame;
+  private final double maxFrameTime;
+  private double accumulator;
+  private double droppedTime;
+
+  public SimulationClock(double step) {
+    this(step, DEFAULT_MAX_STEPS_PER_FRAME, DEFAULT_MAX_FRAME_TIME);
+  }
+
+  public SimulationClock(double step, int maxStepsPerFrame, double maxFrameTime) {
+    if (!(step > 0) || Double.isInfinite(step))
+      throw new IllegalArgumentException("invalid step: " + step);
+    if (maxStepsPerFrame < 1)
+      throw new IllegalArgumentException("invalid maximum number of steps per frame: " + maxStepsPerFrame);
+    if (!(maxFrameTime > 0))
+      throw new IllegalArgumentException("invalid maximum frame time: " + maxFrameTime);
+    this.step = step;
+    this.maxStepsPerFrame = maxStepsPerFrame;
+    this.maxFrameTime = maxFrameTime;
+  }
+
+  public double getStep() {
+    return step;
+  }
+
+  public int getMaxStepsPerFrame() {
+    return maxStepsPerFrame;
+  }
+
+  public double getMaxFrameTime() {
+    return maxFrameTime;
+  }
+
+  /**
+   * Add the given elapsed wall-clock time, in seconds, to this clock and return the number of steps to take for it.
+   */
+  public int advance(double elapsed) {
+    if (elapsed < 0 || Double.isNaN(elapsed))
+      throw new IllegalArgumentException("invalid elapsed time: " + elapsed);
+    if (elapsed > maxFrameTime) {
+      droppedTime += elapsed - maxFrameTime;
+      elapsed = maxFrameTime;
+    }
+    accumulator += elapsed;
+    int steps = 0;
+    // the tolerance keeps frames of exactly one step from being rounded down to none
+    while (steps < maxStepsPerFrame && Util.fuzzyLessThanOrEqualTo(step, accumulator)) {
+      accumulator = Math.max(accumulator - step, 0);
+      steps++;
+    }
+    if (accumulator >= step) {
+      double left = accumulator % step;
+      droppedTime += accumulator - left;
+      accumulator = left;
+    }
+    return steps;
+  }
+
+  /**
+   * Return how far the current frame lies between the state before the last step and the state after it, between 0 and 1.
+   */
+  public double getAlpha() {
+    return Math.min(accumulator / step, 1);
+  }
+
+  /**
+   * Return the total wall-clock time, in seconds, this clock has dropped rather than simulated.
+   */
+  public double getDroppedTime() {
+    return droppedTime;
+  }
+
+  /**
+   * Drop the time accumulated by this clock, for instance when the simulation resumes after a pause.
+   */
+  public void reset() {
+    accumulator = 0;
+  }
+}
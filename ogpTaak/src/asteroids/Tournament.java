@@ -0,0 +1,474 @@
+package asteroids;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+
+import model.IFacade;
+import support.RandomStreams;
+
+/**
+ * A tournament playing matches between AI programs, each match in a headless world of its own.
+ *
+ * Usage: Tournament -out file [-schedule file] [-rounds number] [-seed number] [-dt seconds] [-max-time seconds]
+ *        [-threads number] program...
+ *
+ * Without a schedule, every program plays every other program once as the first and once as the second ship,
+ * for the given number of rounds. A schedule file lists one pairing per line, as two program files, relative to the
+ * directory of the schedule, followed by an optional number of matches; empty lines and lines starting with # are skipped.
+ *
+ * The matches run on a work-stealing pool with one thread per core by default. Each match parses its own copy of the
+ * programs, creates its own world and draws its asteroids from a random source seeded with the seed of the match, which
+ * only depends on the seed of the tournament and the index of the match; the only thing the matches share is the text
+ * of the programs. The results are written by the calling thread as the matches finish, as CSV or, for files ending in
+ * .ndjson or .jsonl, as one JSON object per line.
+ */
+public class Tournament<World, Ship, Asteroid, Bullet, Program> {
+
+  private final IFacade<World, Ship, Asteroid, Bullet, Program> facade;
+  private final double dt;
+  private final double maxTime;
+  private final long seed;
+
+  public Tournament(IFacade<World, Ship, Asteroid, Bullet, Program> facade, double dt, double maxTime, long seed) {
+    // the runner checks the time step and the maximum time
+    new HeadlessRunner<World, Ship, Asteroid, Bullet, Program>(facade, dt, maxTime, true);
+    this.facade = facade;
+    this.dt = dt;
+    this.maxTime = maxTime;
+    this.seed = seed;
+  }
+
+  /**
+   * An AI program taking part in a tournament.
+   */
+  public static class Entrant {
+
+    private final String name;
+    private final String text;
+
+    public Entrant(String name, String text) {
+      this.name = name;
+      this.text = text;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getText() {
+      return text;
+    }
+
+    public static Entrant load(File file) throws IOException {
+      StringBuilder text = new StringBuilder();
+      try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+        String line;
+        while ((line = reader.readLine()) != null)
+          text.append(line).append('\n');
+      }
+      return new Entrant(file.getName(), text.toString());
+    }
+  }
+
+  /**
+   * A match between two entrants, the first controlling the first ship and the second controlling the second ship.
+   */
+  public static class Pairing {
+
+    private final Entrant first;
+    private final Entrant second;
+
+    public Pairing(Entrant first, Entrant second) {
+      this.first = first;
+      this.second = second;
+    }
+
+    public Entrant getFirst() {
+      return first;
+    }
+
+    public Entrant getSecond() {
+      return second;
+    }
+  }
+
+  /**
+   * Return the pairings in which every entrant plays every other entrant as first and as second ship, the given number of times.
+   */
+  public static List<Pairing> roundRobin(List<Entrant> entrants, int rounds) {
+    List<Pairing> pairings = new ArrayList<Pairing>();
+    for (int round = 0; round < rounds; round++)
+      for (Entrant first : entrants)
+        for (Entrant second : entrants)
+          if (first != second)
+            pairings.add(new Pairing(first, second));
+    return pairings;
+  }
+
+  /**
+   * Return the pairings of the given schedule, loading each program file once, relative to the given directory.
+   */
+  public static List<Pairing> loadSchedule(BufferedReader reader, File directory) throws IOException {
+    Map<String, Entrant> entrants = new LinkedHashMap<String, Entrant>();
+    List<Pairing> pairings = new ArrayList<Pairing>();
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      line = line.trim();
+      if (line.isEmpty() || line.startsWith("#"))
+        continue;
+      String[] words = line.split("\\s+");
+      if (words.length != 2 && words.length != 3)
+        throw new IllegalArgumentException("line " + lineNumber + ": " + line + " (unexpected line)");
+      int count;
+      try {
+        count = (words.length == 3) ? Integer.parseInt(words[2]) : 1;
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("line " + lineNumber + ": " + line + " (" + e.getMessage() + ")", e);
+      }
+      Entrant first = getEntrant(entrants, new File(directory, words[0]));
+      Entrant second = getEntrant(entrants, new File(directory, words[1]));
+      for (int i = 0; i < count; i++)
+        pairings.add(new Pairing(first, second));
+    }
+    return pairings;
+  }
+
+  private static Entrant getEntrant(Map<String, Entrant> entrants, File file) throws IOException {
+    String key = file.getCanonicalPath();
+    if (!entrants.containsKey(key))
+      entrants.put(key, Entrant.load(file));
+    return entrants.get(key);
+  }
+
+  /**
+   * Return the seed of the match with the given index.
+   */
+  public long getMatchSeed(int index) {
+    return RandomStreams.mix(seed + index);
+  }
+
+  /**
+   * Play the given pairing as the match with the given index, in a world of its own.
+   */
+  public Result play(Pairing pairing, int index) {
+    long matchSeed = getMatchSeed(index);
+    try {
+      HeadlessRunner<World, Ship, Asteroid, Bullet, Program> runner = new HeadlessRunner<World, Ship, Asteroid, Bullet, Program>(facade, dt, maxTime, true);
+      World world = facade.createWorld(HeadlessRunner.DEFAULT_WIDTH, HeadlessRunner.DEFAULT_HEIGHT);
+      // bullets and asteroids the programs may refer to are never reused by the pool
+      facade.setWorldPooling(world, true);
+      List<Ship> players = runner.addDefaultShips(world);
+      facade.setShipProgram(players.get(0), runner.parseProgram(pairing.getFirst().getText()));
+      facade.setShipProgram(players.get(1), runner.parseProgram(pairing.getSecond().getText()));
+      runner.addDefaultAsteroids(world, new Random(matchSeed));
+      HeadlessRunner.Report report = runner.run(world);
+      Set<Ship> alive = facade.getShips(world);
+      String winner = DRAW;
+      if (alive.size() == 1 && alive.contains(players.get(0)))
+        winner = pairing.getFirst().getName();
+      else if (alive.size() == 1 && alive.contains(players.get(1)))
+        winner = pairing.getSecond().getName();
+      return new Result(index, matchSeed, pairing, winner, report.getSteps(), report.getSimulatedTime(),
+          facade.getShipProgramTime(players.get(0)), facade.getShipProgramTime(players.get(1)), null);
+    } catch (RuntimeException e) {
+      return new Result(index, matchSeed, pairing, null, 0, 0, 0, 0, String.valueOf(e.getMessage()));
+    }
+  }
+
+  public static final String DRAW = "draw";
+
+  /**
+   * Play all given pairings on a pool with the given number of threads, and hand their results to the given sink
+   * on the calling thread, in the order in which the matches finish.
+   */
+  public void play(List<Pairing> pairings, int threads, ResultSink sink) throws IOException, InterruptedException {
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      CompletionService<Result> matches = new ExecutorCompletionService<Result>(pool);
+      for (int i = 0; i < pairings.size(); i++) {
+        final Pairing pairing = pairings.get(i);
+        final int index = i;
+        matches.submit(new Callable<Result>() {
+          @Override
+          public Result call() {
+            return play(pairing, index);
+          }
+        });
+      }
+      for (int i = 0; i < pairings.size(); i++) {
+        try {
+          sink.accept(matches.take().get());
+        } catch (ExecutionException e) {
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * The result of a single match.
+   */
+  public static class Result {
+
+    private final int index;
+    private final long seed;
+    private final Pairing pairing;
+    private final String winner;
+    private final long ticks;
+    private final double simulatedTime;
+    private final long firstProgramTime;
+    private final long secondProgramTime;
+    private final String error;
+
+    public Result(int index, long seed, Pairing pairing, String winner, long ticks, double simulatedTime,
+        long firstProgramTime, long secondProgramTime, String error) {
+      this.index = index;
+      this.seed = seed;
+      this.pairing = pairing;
+      this.winner = winner;
+      this.ticks = ticks;
+      this.simulatedTime = simulatedTime;
+      this.firstProgramTime = firstProgramTime;
+      this.secondProgramTime = secondProgramTime;
+      this.error = error;
+    }
+
+    public int getIndex() {
+      return index;
+    }
+
+    public long getSeed() {
+      return seed;
+    }
+
+    public Pairing getPairing() {
+      return pairing;
+    }
+
+    /**
+     * Return the name of the winning program, DRAW if no single ship survived, or null if the match failed.
+     */
+    public String getWinner() {
+      return winner;
+    }
+
+    public long getTicks() {
+      return ticks;
+    }
+
+    public double getSimulatedTime() {
+      return simulatedTime;
+    }
+
+    /**
+     * Return the processor time, in nanoseconds, spent executing the program of the first ship.
+     */
+    public long getFirstProgramTime() {
+      return firstProgramTime;
+    }
+
+    /**
+     * Return the processor time, in nanoseconds, spent executing the program of the second ship.
+     */
+    public long getSecondProgramTime() {
+      return secondProgramTime;
+    }
+
+    /**
+     * Return the message of the error that ended the match, or null if the match was played out.
+     */
+    public String getError() {
+      return error;
+    }
+  }
+
+  /**
+   * A receiver of the results of a tournament.
+   */
+  public interface ResultSink {
+    public void accept(Result result) throws IOException;
+  }
+
+  private static final String[] COLUMNS = { "match", "seed", "first", "second", "winner", "ticks", "simulated_time",
+      "first_program_ns", "second_program_ns", "error" };
+
+  private static Object[] getValues(Result result) {
+    return new Object[] { result.getIndex(), result.getSeed(), result.getPairing().getFirst().getName(),
+        result.getPairing().getSecond().getName(), result.getWinner(), result.getTicks(), result.getSimulatedTime(),
+        result.getFirstProgramTime(), result.getSecondProgramTime(), result.getError() };
+  }
+
+  /**
+   * A sink writing each result as a line of comma-separated values, after a header line, and flushing it right away.
+   */
+  public static class CsvSink implements ResultSink {
+
+    private final PrintWriter out;
+
+    public CsvSink(Writer out) {
+      this.out = new PrintWriter(out);
+      this.out.println(join(COLUMNS));
+      this.out.flush();
+    }
+
+    @Override
+    public void accept(Result result) {
+      Object[] values = getValues(result);
+      String[] fields = new String[values.length];
+      for (int i = 0; i < values.length; i++)
+        fields[i] = (values[i] == null) ? "" : quote(format(values[i]));
+      out.println(join(fields));
+      out.flush();
+    }
+
+    private static String quote(String field) {
+      if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0)
+        return field;
+      return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static String join(String[] fields) {
+      StringBuilder line = new StringBuilder();
+      for (int i = 0; i < fields.length; i++)
+        line.append(i == 0 ? "" : ",").append(fields[i]);
+      return line.toString();
+    }
+  }
+
+  /**
+   * A sink writing each result as a JSON object on a line of its own, and flushing it right away.
+   */
+  public static class NdjsonSink implements ResultSink {
+
+    private final PrintWriter out;
+
+    public NdjsonSink(Writer out) {
+      this.out = new PrintWriter(out);
+    }
+
+    @Override
+    public void accept(Result result) {
+      Object[] values = getValues(result);
+      StringBuilder line = new StringBuilder("{");
+      for (int i = 0; i < values.length; i++) {
+        line.append(i == 0 ? "" : ",").append(escape(COLUMNS[i])).append(':');
+        if (values[i] == null)
+          line.append("null");
+        else if (values[i] instanceof String)
+          line.append(escape((String) values[i]));
+        else
+          line.append(format(values[i]));
+      }
+      out.println(line.append('}'));
+      out.flush();
+    }
+
+    private static String escape(String text) {
+      StringBuilder escaped = new StringBuilder("\"");
+      for (char c : text.toCharArray()) {
+        if (c == '"' || c == '\\')
+          escaped.append('\\').append(c);
+        else if (c < 0x20)
+          escaped.append(String.format("\\u%04x", (int) c));
+        else
+          escaped.append(c);
+      }
+      return escaped.append('"').toString();
+    }
+  }
+
+  private static String format(Object value) {
+    return (value instanceof Double) ? String.format(Locale.ROOT, "%.6f", value) : String.valueOf(value);
+  }
+
+  public static void main(final String[] args) {
+    File out = null;
+    File schedule = null;
+    int rounds = 1;
+    long seed = 0;
+    double dt = HeadlessRunner.DEFAULT_DT;
+    double maxTime = HeadlessRunner.DEFAULT_MAX_TIME;
+    int threads = Runtime.getRuntime().availableProcessors();
+    List<File> programs = new ArrayList<File>();
+    try {
+      for (int i = 0; i < args.length; i++) {
+        String arg = args[i];
+        if (!arg.startsWith("-")) {
+          programs.add(new File(arg));
+        } else if (i + 1 >= args.length) {
+          System.out.println("no value specified for " + arg);
+          return;
+        } else if (arg.equals("-out")) {
+          out = new File(args[++i]);
+        } else if (arg.equals("-schedule")) {
+          schedule = new File(args[++i]);
+        } else if (arg.equals("-rounds")) {
+          rounds = Integer.parseInt(args[++i]);
+        } else if (arg.equals("-seed")) {
+          seed = Long.parseLong(args[++i]);
+        } else if (arg.equals("-dt")) {
+          dt = Double.parseDouble(args[++i]);
+        } else if (arg.equals("-max-time")) {
+          maxTime = Double.parseDouble(args[++i]);
+        } else if (arg.equals("-threads")) {
+          threads = Integer.parseInt(args[++i]);
+        } else {
+          System.out.println("unknown option: " + arg);
+          return;
+        }
+      }
+      if (out == null) {
+        System.out.println("no output file specified");
+        return;
+      }
+      List<Pairing> pairings;
+      if (schedule != null) {
+        try (BufferedReader reader = new BufferedReader(new FileReader(schedule))) {
+          pairings = loadSchedule(reader, schedule.getAbsoluteFile().getParentFile());
+        }
+      } else {
+        List<Entrant> entrants = new ArrayList<Entrant>();
+        for (File program : programs)
+          entrants.add(Entrant.load(program));
+        pairings = roundRobin(entrants, rounds);
+      }
+      // <begin>
+      IFacade<gameObjects.World, gameObjects.Ship, gameObjects.Asteroid, gameObjects.Bullet, model.Program> facade = new model.Facade();
+      // <end>
+      Tournament<gameObjects.World, gameObjects.Ship, gameObjects.Asteroid, gameObjects.Bullet, model.Program> tournament =
+          new Tournament<>(facade, dt, maxTime, seed);
+      long start = System.nanoTime();
+      try (Writer writer = new java.io.FileWriter(out)) {
+        String name = out.getName();
+        ResultSink sink = (name.endsWith(".ndjson") || name.endsWith(".jsonl")) ? new NdjsonSink(writer) : new CsvSink(writer);
+        tournament.play(pairings, threads, sink);
+      }
+      System.out.println(String.format(Locale.ROOT, "%d matches in %.3f s on %d threads", pairings.size(),
+          (System.nanoTime() - start) / 1e9, threads));
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -6,7 +6,7 @@ public class Util {
   public static boolean fuzzyEquals(double x, double y) {
     if (Double.isNaN(x) || Double.isNaN(y))
       return false;
-    return Math.abs(x - y) <= EPSILON || Double.valueOf(x).equals(Double.valueOf(y));
+    return Math.abs(x - y) <= EPSILON || Double.doubleToLongBits(x) == Double.doubleToLongBits(y);
   }
 
   public static boolean fuzzyLessThanOrEqualTo(double x, double y) {
@@ -48,6 +48,8 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
   private boolean player1_fire, player2_fire;
   private Timer timer;
   private long timeAfterLastEvolve;
+  private final SimulationClock clock = new SimulationClock(1. / 60);
+  private Map<Object, double[]> previousPositions = new HashMap<Object, double[]>();
   private Image background;
   private String msg = null;
   private Map<Object, Visualization<?>> visualizations = new HashMap<Object, Visualization<?>>();
@@ -205,8 +207,8 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
 
   @Override
   public void actionPerformed(ActionEvent e) {
-    long now = System.currentTimeMillis();
-    long millisSinceLastEvolve = now - timeAfterLastEvolve;
+    long now = System.nanoTime();
+    double secondsSinceLastEvolve = (now - timeAfterLastEvolve) / 1e9;
     timeAfterLastEvolve = now;
     if (player1_angle != 0) {
       facade.turn(player1, player1_angle);
@@ -224,10 +226,16 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
       facade.fireBullet(player2);
       game.getSound().play("torpedo");
     }
-    facade.evolve(world, millisSinceLastEvolve / 1000., this);
+    int steps = clock.advance(secondsSinceLastEvolve);
+    for (int i = 0; i < steps; i++) {
+      // the frame is drawn between the states before and after the last step
+      if (i == steps - 1)
+        recordPreviousPositions();
+      facade.evolve(world, clock.getStep(), this);
+    }
     Iterator<Explosion> iter = explosions.iterator();
     while (iter.hasNext()) {
-      boolean done = iter.next().evolve(millisSinceLastEvolve / 1000.);
+      boolean done = iter.next().evolve(secondsSinceLastEvolve);
       if (done)
         iter.remove();
     }
@@ -253,10 +261,31 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
 
   public void startGame() {
     game.getSound().loop("game-theme");
-    timeAfterLastEvolve = System.currentTimeMillis();
+    timeAfterLastEvolve = System.nanoTime();
+    clock.reset();
     timer.start();
   }
 
+  private void recordPreviousPositions() {
+    previousPositions.clear();
+    for (Ship ship : facade.getShips(world))
+      previousPositions.put(ship, new double[] { facade.getShipX(ship), facade.getShipY(ship) });
+    for (Asteroid asteroid : facade.getAsteroids(world))
+      previousPositions.put(asteroid, new double[] { facade.getAsteroidX(asteroid), facade.getAsteroidY(asteroid) });
+    for (Bullet bullet : facade.getBullets(world))
+      previousPositions.put(bullet, new double[] { facade.getBulletX(bullet), facade.getBulletY(bullet) });
+  }
+
+  /**
+   * Return the given coordinate of the given entity, interpolated between its position before the last step and its current one.
+   */
+  private double interpolate(Object entity, int coordinate, double current) {
+    double[] previous = previousPositions.get(entity);
+    if (previous == null)
+      return current;
+    return previous[coordinate] + clock.getAlpha() * (current - previous[coordinate]);
+  }
+
   @Override
   public void boundaryCollision(Object entity, double x, double y) {
 
@@ -317,8 +346,8 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
     public void draw(Graphics2D g2d) {
       double radius = facade.getShipRadius(getObject());
       double angle = -facade.getShipDirection(getObject());
-      double x = facade.getShipX(getObject());
-      double y = facade.getWorldHeight(world) - facade.getShipY(getObject());
+      double x = interpolate(getObject(), 0, facade.getShipX(getObject()));
+      double y = facade.getWorldHeight(world) - interpolate(getObject(), 1, facade.getShipY(getObject()));
       g2d.setColor(getColor());
       if (getImage() == null) {
         g2d.drawOval((int) (x - radius), (int) (y - radius), (int) (2 * radius), (int) (2 * radius));
@@ -348,8 +377,8 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
       World world = facade.getAsteroidWorld(getObject());
       if(world != null) {
         double radius = facade.getAsteroidRadius(getObject());
-        double x = facade.getAsteroidX(getObject());
-        double y = facade.getWorldHeight(world) - facade.getAsteroidY(getObject());
+        double x = interpolate(getObject(), 0, facade.getAsteroidX(getObject()));
+        double y = facade.getWorldHeight(world) - interpolate(getObject(), 1, facade.getAsteroidY(getObject()));
         if(getImage() == null) {
           g2d.setColor(getColor());
           g2d.drawOval((int) (x - radius), (int) (y - radius), (int) (2 * radius), (int) (2 * radius));
@@ -371,8 +400,8 @@ public class WorldView<World, Ship, Asteroid, Bullet, Program> extends JPanel im
     @Override
     public void draw(Graphics2D g2d) {
       double radius = facade.getBulletRadius(getObject());
-      double x = facade.getBulletX(getObject());
-      double y = facade.getWorldHeight(world) - facade.getBulletY(getObject());
+      double x = interpolate(getObject(), 0, facade.getBulletX(getObject()));
+      double y = facade.getWorldHeight(world) - interpolate(getObject(), 1, facade.getBulletY(getObject()));
       g2d.setColor(getColor());
       g2d.drawOval((int) (x - radius), (int) (y - radius), (int) (2 * radius), (int) (2 * radius));
     }
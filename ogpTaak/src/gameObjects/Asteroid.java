@@ -1,9 +1,12 @@
 package gameObjects;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Random;
 import java.util.Set;
 
+import support.Kinematics;
+import support.RandomStreams;
 import support.Vector;
 
 import be.kuleuven.cs.som.annotate.*;
@@ -38,6 +41,32 @@ public class Asteroid extends Collidable{
 		super(position, velocity,radius);
 	}
 	
+	/**
+	 * Initialize this new asteroid with given position, given velocity, given radius and given random stream.
+	 * 
+	 * @param	random
+	 * 			The random stream determining the directions of the children of this new asteroid.
+	 * @effect	| this(position, velocity, radius)
+	 * @post	| (new this).getRandomStream() == random
+	 */
+	@Raw
+	public Asteroid(Vector position, Vector velocity, double radius, Random random) throws IllegalArgumentException {
+		this(position, velocity, radius);
+		this.random = random;
+	}
+	
+	/**
+	 * Initialize this new asteroid with the given coordinates, velocity components and radius, and with a random stream
+	 * of its own, seeded with the given seed.
+	 * 
+	 * @effect	| this(new Vector(x,y), new Vector(xVelocity,yVelocity), radius, new Random(seed))
+	 */
+	@Raw
+	Asteroid(double x, double y, double xVelocity, double yVelocity, double radius, long seed) throws IllegalArgumentException {
+		this(new Vector(x,y), new Vector(xVelocity,yVelocity), radius, new Random(seed));
+		this.ownsRandomStream = true;
+	}
+	
 	/**
 	 * Initialize this new asteroid with all default values.
 	 * 
@@ -60,8 +89,35 @@ public class Asteroid extends Collidable{
 		World oldWorld = getWorld();
 		super.terminate();
 		for(Asteroid asteroid : children) {
-			oldWorld.addAsCollidable(asteroid);
+			if (oldWorld.canHaveAsCollidable(asteroid))
+				oldWorld.addAsCollidable(asteroid);
+			else {
+				// a child the world cannot accept goes back to the pool it was taken from
+				asteroid.terminate();
+				oldWorld.release(asteroid);
+			}
 		}
+		if (oldWorld != null)
+			oldWorld.release(this);
+	}
+	
+	/**
+	 * Reinitialize this terminated asteroid with the given coordinates, velocity components and radius, and with 
+	 * a random stream seeded with the given seed.
+	 * 	If this asteroid owns its random stream, that stream is reseeded instead of creating a new one.
+	 * 
+	 * @effect	| super.reinitialize(x, y, xVelocity, yVelocity, radius)
+	 * @post	| (new this).getRandomStream() draws the same numbers as new Random(seed)
+	 */
+	@Raw
+	void reinitialize(double x, double y, double xVelocity, double yVelocity, double radius, long seed) throws IllegalArgumentException {
+		super.reinitialize(x, y, xVelocity, yVelocity, radius);
+		this.volume = (4/3)*Math.PI*Math.pow(getRadius(),3);
+		if (this.ownsRandomStream && this.random != null)
+			this.random.setSeed(seed);
+		else
+			this.random = new Random(seed);
+		this.ownsRandomStream = true;
 	}
 	
 	/**
@@ -77,8 +133,36 @@ public class Asteroid extends Collidable{
 				&& Util.fuzzyLessThanOrEqualTo(30.0,getRadius());
 		}
 	
+	/**
+	 * Return the random stream determining the directions of the children of this asteroid.
+	 * 	An asteroid created without a random stream is handed one by its world when it first needs it.
+	 * 
+	 * @return	| if (this was created without a random stream && getWorld() != null)
+	 * 			|	then result == a new stream split off the random source of getWorld()
+	 */
+	public Random getRandomStream() {
+		if (this.random == null && getWorld() != null) {
+			this.random = getWorld().createRandomStream();
+			this.ownsRandomStream = true;
+		}
+		return this.random;
+	}
+	
+	/**
+	 * Variable referencing the random stream of this asteroid, or null if it was not handed one yet.
+	 */
+	private Random random = null;
+	
+	/**
+	 * Variable registering whether the random stream of this asteroid was created for it alone, 
+	 * rather than handed to it, so that it may be reseeded when this asteroid is reused.
+	 */
+	private boolean ownsRandomStream = false;
+	
 	/**
 	 * Return a list with the children of this asteroid.
+	 * 	The direction of the children is drawn from the random stream of this asteroid,
+	 * 	and each child receives a stream of its own, split off that stream.
 	 * 
 	 * @return	Two new smaller asteroids are created and returned in the form of a set.
 	 * 			| let
@@ -91,53 +175,76 @@ public class Asteroid extends Collidable{
 	 * 			| 	result.contains(new Asteroid(secondNewPosition,secondNewVelocity,getRadius()/2))
 	 */
 	public Set<Asteroid> createChildren() {
-		Set<Asteroid> children = new HashSet<Asteroid>();
-		Asteroid firstNewAsteroid = null;
-		Asteroid secondNewAsteroid = null;
-		try {
-			// create random direction
-			Random r = new Random();
-			double randomDirection = 2*Math.PI * r.nextDouble();
-			double newSpeed = 1.5*Math.sqrt(getVelocity().dotProduct(getVelocity()));
-			// check speed limit
-			if (Util.fuzzyLessThanOrEqualTo(getSpeedLimit(),newSpeed))
-				newSpeed = getSpeedLimit();	
-			// create vectors
-			Vector firstNewVelocity = new Vector(newSpeed*Math.cos(randomDirection),newSpeed*Math.sin(randomDirection));
-			Vector secondNewVelocity = new Vector(-newSpeed*Math.cos(randomDirection),-newSpeed*Math.sin(randomDirection));
-			Vector firstNewPosition = getPosition().add(new Vector((getRadius()/2)*Math.cos(randomDirection),(getRadius()/2)*Math.sin(randomDirection)));
-			Vector secondNewPosition = getPosition().subtract(new Vector((getRadius()/2)*Math.cos(randomDirection),(getRadius()/2)*Math.sin(randomDirection)));
-			// create asteroids
-			firstNewAsteroid = new Asteroid(firstNewPosition,firstNewVelocity,getRadius()/2);
-			secondNewAsteroid = new Asteroid(secondNewPosition,secondNewVelocity,getRadius()/2);
-			// add new asteroids
-			children.add(firstNewAsteroid);
-			children.add(secondNewAsteroid);
-		}
-		catch (Exception e) {
-			// spawn calculations have failed, do nothing.
-		}
+		Set<Asteroid> children = new LinkedHashSet<Asteroid>();
+		// create random direction
+		Random r = getRandomStream();
+		if (r == null)
+			r = new Random();
+		double randomDirection = 2*Math.PI * r.nextDouble();
+		double vx = getVelocity().getXComponent();
+		double vy = getVelocity().getYComponent();
+		double newSpeed = 1.5*Math.sqrt(vx*vx + vy*vy);
+		// check speed limit
+		if (Util.fuzzyLessThanOrEqualTo(getSpeedLimit(),newSpeed))
+			newSpeed = getSpeedLimit();	
+		double childRadius = getRadius()/2;
+		double dx = childRadius*Math.cos(randomDirection);
+		double dy = childRadius*Math.sin(randomDirection);
+		double x = getPositionX();
+		double y = getPositionY();
+		// spawn calculations have failed, do nothing.
+		if (!Kinematics.isFinite(newSpeed) || !canHaveAsChildPosition(x+dx, y+dy, childRadius) 
+				|| !canHaveAsChildPosition(x-dx, y-dy, childRadius))
+			return children;
+		// create asteroids
+		double vxChild = newSpeed*Math.cos(randomDirection);
+		double vyChild = newSpeed*Math.sin(randomDirection);
+		children.add(createChild(x+dx, y+dy, vxChild, vyChild, childRadius, RandomStreams.nextSeed(r)));
+		children.add(createChild(x-dx, y-dy, -vxChild, -vyChild, childRadius, RandomStreams.nextSeed(r)));
 		return children;
 	}
 	
 	/**
-	 * Symbolic constant registering the density of all asteroids.
+	 * Return a child of this asteroid with the given coordinates, velocity components and radius, and with a random
+	 * stream seeded with the given seed, recycled by the world of this asteroid if that world pools its collidables.
+	 */
+	private Asteroid createChild(double x, double y, double xVelocity, double yVelocity, double radius, long seed) {
+		World world = getWorld();
+		if (world == null)
+			return new Asteroid(x, y, xVelocity, yVelocity, radius, seed);
+		return world.createAsteroid(x, y, xVelocity, yVelocity, radius, seed);
+	}
+	
+	/**
+	 * Check whether a child of this asteroid with the given radius can be spawned at the given coordinates.
+	 * 
+	 * @return	| result == Util.fuzzyLessThanOrEqualTo(0.0,x-radius) && Util.fuzzyLessThanOrEqualTo(0.0,y-radius)
+	 * 			|	&& Util.fuzzyLessThanOrEqualTo(x+radius,Double.MAX_VALUE) && Util.fuzzyLessThanOrEqualTo(y+radius,Double.MAX_VALUE)
+	 */
+	private static boolean canHaveAsChildPosition(double x, double y, double radius) {
+		return Util.fuzzyLessThanOrEqualTo(0.0,x-radius) && Util.fuzzyLessThanOrEqualTo(0.0,y-radius)
+				&& Util.fuzzyLessThanOrEqualTo(x+radius,Double.MAX_VALUE) && Util.fuzzyLessThanOrEqualTo(y+radius,Double.MAX_VALUE);
+	}
+	
+	/**
+	 * Symbolic constant registering the density of all asteroids of the default configuration.
 	 */
-	public static double DENSITY = 2.65e12;
+	public static final double DENSITY = 2.65e12;
 
 	/**
-	 * Return the mass of this asteroid.
+	 * Return the mass of this asteroid, according to the asteroid density of its configuration.
 	 * 
+	 * @return	| result == (4/3)*Math.PI*Math.pow(getRadius(),3)*getConfig().getAsteroidDensity()
 	 */
-	@Override @Basic @Immutable
+	@Override @Basic
 	public double getMass() {
-		return this.mass;
+		return this.volume*getConfig().getAsteroidDensity();
 	}
 	
 	/**
-	 * Variable registering the mass of this asteroid.
+	 * Variable registering the volume of this asteroid.
 	 */
-	private final double mass = (4/3)*Math.PI*Math.pow(getRadius(),3)*DENSITY;
+	private double volume = (4/3)*Math.PI*Math.pow(getRadius(),3);
 	
 	/**
 	 * This asteroid collides with the given collidable.
@@ -193,6 +300,16 @@ public class Asteroid extends Collidable{
 		this.terminate();
 	}
 	
+	/**
+	 * Return the collision category of asteroids.
+	 * 
+	 * @return	| result == CollisionFilter.ASTEROID
+	 */
+	@Override
+	protected int getDefaultCategory() {
+		return CollisionFilter.ASTEROID;
+	}
+	
 	/**
 	 * Return a textual representation of this asteroid.
 	 * 
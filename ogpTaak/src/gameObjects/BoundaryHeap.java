@@ -0,0 +1,198 @@
+package gameObjects;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import asteroids.Util;
+
+/**
+ * A class of min-heaps of the times at which the collidables of a world hit its boundary.
+ *
+ * The times are absolute times of the world. Because collidables move lazily with the time of their world,
+ * the time at which a collidable hits the boundary only changes when its course changes. Whenever that happens,
+ * the collidable is registered as stale and its time is predicted anew on the next peek; the entries predicted
+ * before are recognized through the version of the collidable and skipped. Collidables that overlap with the 
+ * boundary have no event; they are rechecked once per step, when the world asks to. The exact steps of the world take
+ * their boundary collisions from this heap, so a collidable whose course does not change is predicted only once.
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class BoundaryHeap {
+
+	/**
+	 * Initialize this new heap for the given world.
+	 *
+	 * @param 	world
+	 * 			The world whose boundary collisions are kept.
+	 */
+	BoundaryHeap(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable referencing the world of this heap.
+	 */
+	private final World world;
+
+	/**
+	 * Register that the given collidable changed its course or joined the world of this heap.
+	 *
+	 * @param 	collidable
+	 * 			The collidable whose boundary collision must be predicted anew.
+	 */
+	void invalidate(Collidable collidable) {
+		stale.add(collidable);
+	}
+
+	/**
+	 * Forget the given collidable, that was removed from the world of this heap.
+	 * 	The events of the collidable are no longer valid; they are removed when the heap is compacted.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to forget.
+	 */
+	void remove(Collidable collidable) {
+		stale.remove(collidable);
+		outside.remove(collidable);
+		compactIfCrowded();
+	}
+
+	/**
+	 * Return the earliest collision of a collidable with the boundary of the world of this heap,
+	 * as an event at an absolute time of that world, or null if there is no such collision.
+	 * Collidables that overlap with the boundary by more than rounding errors are ignored.
+	 * 	Apart from predicting the stale collidables, peeking takes constant time.
+	 */
+	CollisionEvent peek() {
+		if (!stale.isEmpty())
+			refresh();
+		CollisionEvent event = events.peek();
+		while (event != null && !event.isValid(world)) {
+			events.poll();
+			event = events.peek();
+		}
+		return event;
+	}
+
+	/**
+	 * Remove and return the earliest collision of a collidable with the boundary of the world of this heap,
+	 * or null if there is no such collision.
+	 *
+	 * @see		#peek()
+	 */
+	CollisionEvent poll() {
+		CollisionEvent event = peek();
+		if (event != null)
+			events.poll();
+		return event;
+	}
+
+	/**
+	 * Return the number of valid events of this heap up to the given absolute time of its world.
+	 * 	Collidables still to be predicted anew are not counted.
+	 *
+	 * @param 	time
+	 * 			The absolute time up to which events are counted.
+	 */
+	int getNbEventsUntil(double time) {
+		int count = 0;
+		for (CollisionEvent event : events)
+			if (Util.fuzzyLessThanOrEqualTo(event.getTime(), time) && event.isValid(world))
+				count++;
+		return count;
+	}
+
+	/**
+	 * Return the number of entries this heap holds, counting its events, including the ones no longer valid,
+	 * and the collidables it registers as stale or as overlapping with the boundary.
+	 */
+	int size() {
+		return events.size() + stale.size() + outside.size();
+	}
+
+	/**
+	 * Predict the boundary collisions of all stale collidables anew.
+	 */
+	private void refresh() {
+		for (Collidable collidable : stale) {
+			if (collidable.getWorld() != world || collidable.isTerminated() || collidable.isSleeping())
+				continue;
+			// A collidable that has just bounced touches the boundary up to rounding errors.
+			if (Util.fuzzyLessThanOrEqualTo(0, collidable.getDistanceToClosestBoundary())) {
+				double time = collidable.getTimeToCollisionWithBoundary();
+				if (time < Double.MAX_VALUE)
+					events.add(new CollisionEvent(collidable, null, world.getTime() + time, sequence++));
+			}
+			else
+				outside.add(collidable);
+		}
+		stale.clear();
+		compactIfCrowded();
+	}
+
+	/**
+	 * Remove all events that are no longer valid, if they may outnumber the valid ones.
+	 * 	Each collidable has at most one valid event, so the cost of compacting is spread over the events added since.
+	 */
+	private void compactIfCrowded() {
+		if (events.size() > 2 * world.getNbCollidables() + 16)
+			compact();
+	}
+
+	/**
+	 * Register all collidables that moved back inside the boundary as stale.
+	 * 	A collidable that overlaps with the boundary may drift back inside without changing its course.
+	 * 	Rechecking walks all collidables that overlap with the boundary, so the world does so once per step
+	 * 	rather than on every peek.
+	 */
+	void recheckOutside() {
+		Iterator<Collidable> iterator = outside.iterator();
+		while (iterator.hasNext()) {
+			Collidable collidable = iterator.next();
+			if (collidable.getWorld() != world || collidable.isTerminated())
+				iterator.remove();
+			else if (Util.fuzzyLessThanOrEqualTo(0, collidable.getDistanceToClosestBoundary())) {
+				iterator.remove();
+				stale.add(collidable);
+			}
+		}
+	}
+
+	/**
+	 * Remove all events of collidables that changed their course since they were predicted.
+	 */
+	private void compact() {
+		List<CollisionEvent> valid = new ArrayList<CollisionEvent>(events.size());
+		for (CollisionEvent event : events)
+			if (event.isValid(world))
+				valid.add(event);
+		events.clear();
+		events.addAll(valid);
+	}
+
+	/**
+	 * Variable collecting the collidables whose boundary collision must be predicted anew.
+	 */
+	private final Set<Collidable> stale = new LinkedHashSet<Collidable>();
+
+	/**
+	 * Variable collecting the collidables that overlapped with the boundary when they were last predicted.
+	 */
+	private final Set<Collidable> outside = new LinkedHashSet<Collidable>();
+
+	/**
+	 * Variable collecting the predicted boundary collisions, ordered by their absolute time.
+	 */
+	private final PriorityQueue<CollisionEvent> events = new PriorityQueue<CollisionEvent>();
+
+	/**
+	 * Variable registering the sequence number of the next event of this heap.
+	 */
+	private long sequence = 0;
+}
@@ -40,8 +40,26 @@ public class Bullet extends Collidable {
 	 */
 	@Override
 	public void terminate() {
+		World world = getWorld();
 		getSource().removeAsBullet(this);
 		super.terminate();
+		if (world != null)
+			world.release(this);
+	}
+	
+	/**
+	 * Reinitialize this terminated bullet with the given coordinates, velocity components and radius.
+	 * 
+	 * @pre		| getSource() == null
+	 * @effect	| super.reinitialize(x, y, xVelocity, yVelocity, radius)
+	 * @post	| !(new this).hasBouncedOnce()
+	 */
+	@Override @Raw
+	void reinitialize(double x, double y, double xVelocity, double yVelocity, double radius) throws IllegalArgumentException {
+		assert getSource() == null;
+		super.reinitialize(x, y, xVelocity, yVelocity, radius);
+		this.volume = (4/3)*Math.PI*Math.pow(getRadius(),3);
+		this.bouncedOnce = false;
 	}
 	
 	/**
@@ -109,22 +127,24 @@ public class Bullet extends Collidable {
 	private Ship source = null; 
 	
 	/**
-	 * Returns the mass of this bullet.
+	 * Returns the mass of this bullet, according to the bullet density of its configuration.
+	 * 
+	 * @return	| result == (4/3)*Math.PI*Math.pow(getRadius(),3)*getConfig().getBulletDensity()
 	 */
-	@Override @Basic @Immutable
+	@Override @Basic
 	public double getMass() {
-		return this.mass;
+		return this.volume*getConfig().getBulletDensity();
 	}
 	
 	/**
-	 * Variable registering the mass of this bullet.
+	 * Variable registering the volume of this bullet.
 	 */
-	private final double mass = (4/3)*Math.PI*Math.pow(getRadius(),3)*DENSITY; 
+	private double volume = (4/3)*Math.PI*Math.pow(getRadius(),3); 
 	
 	/**
-	 * Symbolic constant registering the density of all bullets.
+	 * Symbolic constant registering the density of all bullets of the default configuration.
 	 */
-	public static double DENSITY = 7.8e-12;
+	public static final double DENSITY = 7.8e-12;
 
 	/**
 	 * Returns whether this bullet has already bounced with the boundary.
@@ -223,6 +243,16 @@ public class Bullet extends Collidable {
 		bullet.terminate();
 	}
 	
+	/**
+	 * Return the collision category of bullets.
+	 * 
+	 * @return	| result == CollisionFilter.BULLET
+	 */
+	@Override
+	protected int getDefaultCategory() {
+		return CollisionFilter.BULLET;
+	}
+	
 	/**
 	 * Return a textual representation of this bullet.
 	 * 
@@ -1,9 +1,10 @@
 package gameObjects;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import support.Kinematics;
 import support.Vector;
 import exceptions.InvalidPositionException;
-import exceptions.SumOverflowException;
-import exceptions.TimesOverflowException;
 import asteroids.Util;
 import be.kuleuven.cs.som.annotate.*;
 
@@ -57,7 +58,17 @@ public abstract class Collidable {
 	 */
 	@Raw @Model
 	protected Collidable(Vector position, Vector velocity, double radius) throws IllegalArgumentException {
-		setSpeedLimit(SPEED_OF_LIGHT);
+		initialize(position, velocity, radius);
+	}
+	
+	/**
+	 * Give this collidable the given position, velocity and radius, as a new collidable receives them.
+	 * 
+	 * @see		#Collidable(Vector, Vector, double)
+	 */
+	@Raw
+	private void initialize(Vector position, Vector velocity, double radius) throws IllegalArgumentException {
+		setSpeedLimit(getConfig().getSpeedOfLight());
 		setPosition(position);
 		setVelocity(velocity);
 		if(!canHaveAsRadius(radius)){
@@ -66,6 +77,61 @@ public abstract class Collidable {
 		this.radius = radius;
 	}
 	
+	/**
+	 * Give this collidable the given coordinates, velocity components and radius, as a new collidable receives them,
+	 * without allocating vectors.
+	 * 
+	 * @effect	| initialize(new Vector(x,y), new Vector(xVelocity,yVelocity), radius)
+	 */
+	@Raw
+	private void initialize(double x, double y, double xVelocity, double yVelocity, double radius) throws IllegalArgumentException {
+		setSpeedLimit(getConfig().getSpeedOfLight());
+		setPosition(x, y);
+		setVelocity(xVelocity, yVelocity);
+		if(!canHaveAsRadius(radius)){
+			throw new IllegalArgumentException();	
+		}
+		this.radius = radius;
+	}
+	
+	/**
+	 * Reinitialize this terminated collidable with the given coordinates, velocity components and radius, so that it 
+	 * can be reused by a pool instead of creating a new collidable.
+	 * 	The collidable is reset to the state of a new collidable: it is no longer terminated, has the default 
+	 * 	category, speed limit and collision mask and receives a new serial number. Its version keeps increasing,
+	 * 	so collisions predicted for it before it was terminated remain stale. The state of the collidable is 
+	 * 	overwritten in place; no vectors are allocated.
+	 * 
+	 * @pre		| isTerminated() && getWorld() == null
+	 * @effect	| initialize(x, y, xVelocity, yVelocity, radius)
+	 * @post	| !(new this).isTerminated()
+	 * @post	| (new this).getSerialNumber() > getSerialNumber()
+	 * @throws	IllegalArgumentException
+	 * 			This collidable cannot have the given radius as its radius.
+	 * 			| !canHaveAsRadius(radius)
+	 */
+	@Raw
+	void reinitialize(double x, double y, double xVelocity, double yVelocity, double radius) throws IllegalArgumentException {
+		assert isTerminated() && getWorld() == null;
+		this.isTerminated = false;
+		this.serialNumber = nextSerialNumber.getAndIncrement();
+		this.positioned = false;
+		this.position = null;
+		this.moving = false;
+		this.velocity = null;
+		this.speed = 0;
+		this.sleeping = false;
+		this.referenceTime = 0;
+		this.slot = -1;
+		this.category = -1;
+		this.collisionMask = CollisionFilter.ALL;
+		this.speedLimit = 0;
+		// a new collidable has no radius yet while its position is checked
+		this.radius = 0;
+		invalidate();
+		initialize(x, y, xVelocity, yVelocity, radius);
+	}
+	
 	
 	/**
 	 * Check whether this collidable is terminated.
@@ -88,13 +154,78 @@ public abstract class Collidable {
 	 * Variable registering whether or not this collidable is terminated.
 	 */
 	private boolean isTerminated = false;
+	
+	/**
+	 * Check whether a program may refer to this collidable.
+	 * 	A program keeps the collidables it refers to in its variables from one step to the next, so a collidable 
+	 * 	a program may refer to is never reused by the pool of its world once it is terminated.
+	 */
+	@Basic @Raw
+	public boolean isReferencedByProgram() {
+		return this.referencedByProgram;
+	}
+	
+	/**
+	 * Register that a program may refer to this collidable.
+	 * 
+	 * @post	| (new this).isReferencedByProgram()
+	 */
+	public void markReferencedByProgram() {
+		this.referencedByProgram = true;
+	}
+	
+	/**
+	 * Variable registering whether a program may refer to this collidable.
+	 */
+	private boolean referencedByProgram = false;
 		
 	/**
 	 * Returns the position of this collidable.
+	 * 	The position is derived from the position at the reference time of this collidable and its velocity, 
+	 * 	at the current time of the world of this collidable.
+	 * 
+	 * @return	| let
+	 * 			|	elapsed = getCurrentTime() - getReferenceTime()
+	 * 			| in
+	 * 			|	result.equals(referencePosition.add(getVelocity().scale(elapsed)))
 	 */
-	@Basic
 	public Vector getPosition() {
-		return this.position;
+		double elapsed = getCurrentTime() - getReferenceTime();
+		if (elapsed == 0 || !this.positioned)
+			return getReferencePosition();
+		double x = this.positionX + this.velocityX * elapsed;
+		double y = this.positionY + this.velocityY * elapsed;
+		if (Double.isNaN(x) || Double.isNaN(y))
+			return getReferencePosition();
+		return new Vector(x, y);
+	}
+	
+	/**
+	 * Return the x-coordinate of the position of this collidable, without allocating a vector.
+	 * 
+	 * @return	| result == getPosition().getXComponent()
+	 */
+	double getPositionX() {
+		double elapsed = getCurrentTime() - getReferenceTime();
+		double x = this.positionX;
+		if (elapsed == 0)
+			return x;
+		double result = Kinematics.move(x, this.velocityX, elapsed);
+		return Double.isNaN(result) ? x : result;
+	}
+	
+	/**
+	 * Return the y-coordinate of the position of this collidable, without allocating a vector.
+	 * 
+	 * @return	| result == getPosition().getYComponent()
+	 */
+	double getPositionY() {
+		double elapsed = getCurrentTime() - getReferenceTime();
+		double y = this.positionY;
+		if (elapsed == 0)
+			return y;
+		double result = Kinematics.move(y, this.velocityY, elapsed);
+		return Double.isNaN(result) ? y : result;
 	}
 	
 	/**
@@ -112,9 +243,28 @@ public abstract class Collidable {
 	protected void setPosition(Vector position) throws InvalidPositionException {
 		if (!canHaveAsPosition(position)) 
 			throw new InvalidPositionException();	
+		setPosition(position.getXComponent(), position.getYComponent());
 		this.position = position;
 	}
 	
+	/**
+	 * Set the position of this collidable to the given coordinates, without allocating a vector.
+	 * 
+	 * @effect	| setPosition(new Vector(x,y))
+	 */
+	@Raw
+	void setPosition(double x, double y) throws InvalidPositionException {
+		if (!canHaveAsPosition(x, y)) 
+			throw new InvalidPositionException();
+		this.positionX = x;
+		this.positionY = y;
+		this.positioned = true;
+		this.position = null;
+		this.referenceTime = getCurrentTime();
+		store();
+		invalidate();
+	}
+	
 	/**
 	 * Check whether this collidable can have its position as its position.
 	 * 
@@ -136,34 +286,175 @@ public abstract class Collidable {
 	 */	
 	@Raw
 	public boolean canHaveAsPosition(Vector position) {
-		if (getWorld() == null)
-			return (position != null)
-				&& Util.fuzzyLessThanOrEqualTo(position.getXComponent()+getRadius(),Double.MAX_VALUE)
-				&& Util.fuzzyLessThanOrEqualTo(position.getYComponent()+getRadius(),Double.MAX_VALUE)
-				&& Util.fuzzyLessThanOrEqualTo(0.0,position.getXComponent()-getRadius())
-				&& Util.fuzzyLessThanOrEqualTo(0.0,position.getYComponent()-getRadius());
-		else {
-			return (position != null)
-				&& Util.fuzzyLessThanOrEqualTo(position.getXComponent()+getRadius(),getWorld().getWidth())
-				&& Util.fuzzyLessThanOrEqualTo(position.getYComponent()+getRadius(),getWorld().getHeight())
-				&& Util.fuzzyLessThanOrEqualTo(0.0,position.getXComponent()-getRadius())
-				&& Util.fuzzyLessThanOrEqualTo(0.0,position.getYComponent()-getRadius());
-		}
+		return (position != null) && canHaveAsPosition(position.getXComponent(), position.getYComponent());
+	}
+	
+	/**
+	 * Check whether this collidable can have the given coordinates as its position.
+	 * 
+	 * @return	| result == canHaveAsPosition(new Vector(x,y))
+	 */
+	@Raw
+	boolean canHaveAsPosition(double x, double y) {
+		double maxX = (getWorld() == null) ? Double.MAX_VALUE : getWorld().getWidth();
+		double maxY = (getWorld() == null) ? Double.MAX_VALUE : getWorld().getHeight();
+		return Util.fuzzyLessThanOrEqualTo(x+getRadius(),maxX)
+				&& Util.fuzzyLessThanOrEqualTo(y+getRadius(),maxY)
+				&& Util.fuzzyLessThanOrEqualTo(0.0,x-getRadius())
+				&& Util.fuzzyLessThanOrEqualTo(0.0,y-getRadius());
 	}
 		
 	/**
-	 * Variable registering the position of this collidable.
+	 * Variables registering the coordinates of this collidable at its reference time.
+	 */
+	private double positionX, positionY;
+	
+	/**
+	 * Variable registering whether this collidable has been given a position.
+	 */
+	private boolean positioned = false;
+	
+	/**
+	 * Variable caching the position of this collidable at its reference time as a vector, 
+	 * or null if that vector was not asked for since the position last changed.
 	 */
 	private Vector position = null;
 	
+	/**
+	 * Return the position of this collidable at its reference time, or null if it has no position yet.
+	 */
+	@Basic @Raw
+	Vector getReferencePosition() {
+		if (this.position == null && this.positioned)
+			this.position = new Vector(this.positionX, this.positionY);
+		return this.position;
+	}
+	
+	/**
+	 * Return the x-coordinate of this collidable at its reference time.
+	 */
+	@Basic @Raw
+	double getReferenceX() {
+		return this.positionX;
+	}
+	
+	/**
+	 * Return the y-coordinate of this collidable at its reference time.
+	 */
+	@Basic @Raw
+	double getReferenceY() {
+		return this.positionY;
+	}
+	
+	/**
+	 * Return the reference time of this collidable, i.e. the time of its world 
+	 * at which its position was last registered.
+	 */
+	@Basic @Raw
+	double getReferenceTime() {
+		return this.referenceTime;
+	}
+	
+	/**
+	 * Return the current time of the world of this collidable.
+	 * 
+	 * @return	If this collidable is attached to a world, the time of that world.
+	 * 			| if (getWorld() != null)
+	 * 			|	then result == getWorld().getTime()
+	 * 			Otherwise, the reference time of this collidable.
+	 * 			| else result == getReferenceTime()
+	 */
+	@Raw
+	double getCurrentTime() {
+		if (getWorld() == null)
+			return getReferenceTime();
+		return getWorld().getTime();
+	}
+	
+	/**
+	 * Register the current position of this collidable as its position at the current time.
+	 * 
+	 * @post	| (new this).getReferenceTime() == getCurrentTime()
+	 * @post	| (new this).getPosition().equals(getPosition())
+	 */
+	@Raw
+	void anchor() {
+		if (this.positioned && getCurrentTime() != getReferenceTime()) {
+			this.positionX = getPositionX();
+			this.positionY = getPositionY();
+			this.position = null;
+		}
+		this.referenceTime = getCurrentTime();
+		store();
+	}
+	
+	/**
+	 * Variable registering the time of the world of this collidable at which its position was registered.
+	 */
+	private double referenceTime = 0;
+	
+	/**
+	 * Return the slot of this collidable in the entity store of its world, or -1 if it does not occupy a slot.
+	 */
+	@Basic @Raw
+	int getSlot() {
+		return this.slot;
+	}
+	
+	/**
+	 * Set the slot of this collidable in the entity store of its world to the given slot.
+	 * 
+	 * @param	slot
+	 * 			The new slot of this collidable.
+	 * @post	| (new this).getSlot() == slot
+	 */
+	@Raw
+	void setSlot(int slot) {
+		this.slot = slot;
+	}
+	
+	/**
+	 * Write the state of this collidable through to the entity store of its world, if it occupies a slot.
+	 */
+	@Raw
+	private void store() {
+		if (this.slot >= 0 && getWorld() != null && this.positioned && this.moving)
+			getWorld().getEntityStore().update(this);
+	}
+	
+	/**
+	 * Variable registering the slot of this collidable in the entity store of its world.
+	 */
+	private int slot = -1;
+	
 	/**
 	 * Returns the velocity of this collidable.
 	 */
 	@Basic
 	public Vector getVelocity() {
+		if (this.velocity == null && this.moving)
+			this.velocity = new Vector(this.velocityX, this.velocityY);
 		return this.velocity;
 	}
 	
+	/**
+	 * Return the x-component of the velocity of this collidable, without allocating a vector.
+	 * 
+	 * @return	| result == getVelocity().getXComponent()
+	 */
+	double getVelocityX() {
+		return this.velocityX;
+	}
+	
+	/**
+	 * Return the y-component of the velocity of this collidable, without allocating a vector.
+	 * 
+	 * @return	| result == getVelocity().getYComponent()
+	 */
+	double getVelocityY() {
+		return this.velocityY;
+	}
+	
 	/**
 	 * Set the velocity of this collidable to the given velocity.
 	 * 
@@ -175,10 +466,128 @@ public abstract class Collidable {
 	 */
 	@Raw
 	protected void setVelocity(Vector velocity) {
-		if (canHaveAsVelocity(velocity))
+		if (canHaveAsVelocity(velocity)) {
+			setVelocity(velocity.getXComponent(), velocity.getYComponent());
 			this.velocity = velocity;
+		}
+	}
+	
+	/**
+	 * Set the velocity of this collidable to the given components, without allocating a vector.
+	 * 
+	 * @effect	| setVelocity(new Vector(xVelocity,yVelocity))
+	 */
+	@Raw
+	void setVelocity(double xVelocity, double yVelocity) {
+		if (!canHaveAsSpeed(Math.sqrt(xVelocity*xVelocity + yVelocity*yVelocity)))
+			return;
+		anchor();
+		this.velocityX = xVelocity;
+		this.velocityY = yVelocity;
+		this.moving = true;
+		this.velocity = null;
+		this.sleeping = (xVelocity == 0) && (yVelocity == 0);
+		this.speed = Math.hypot(xVelocity, yVelocity);
+		store();
+		invalidate();
+	}
+	
+	/**
+	 * Return the speed of this collidable.
+	 * 	The speed never exceeds the speed limit of this collidable by more than rounding errors.
+	 * 
+	 * @return	| result == Math.sqrt(getVelocity().dotProduct(getVelocity()))
+	 */
+	double getSpeed() {
+		return this.speed;
+	}
+	
+	/**
+	 * Variable registering the speed of this collidable.
+	 */
+	private double speed = 0;
+	
+	/**
+	 * Check whether this collidable is sleeping.
+	 * 	A sleeping collidable stands still until another collidable hits it or its velocity is set, 
+	 * 	so it can never hit the boundary nor another sleeping collidable on its own.
+	 * 
+	 * @return	| result == getVelocity().equals(new Vector(0,0))
+	 */
+	public boolean isSleeping() {
+		return this.sleeping;
+	}
+	
+	/**
+	 * Variable registering whether this collidable has zero velocity.
+	 */
+	private boolean sleeping = false;
+	
+	/**
+	 * Return the collision category of this collidable.
+	 * 	Unless another category was set, this is the category of the type of this collidable.
+	 * 
+	 * @return	| if (no category was set)
+	 * 			|	then result == getDefaultCategory()
+	 */
+	public int getCategory() {
+		if (this.category < 0)
+			return getDefaultCategory();
+		return this.category;
+	}
+	
+	/**
+	 * Return the collision category of the type of this collidable.
+	 */
+	protected abstract int getDefaultCategory();
+	
+	/**
+	 * Set the collision category of this collidable to the given category.
+	 * 
+	 * @param 	category
+	 * 			The new category for this collidable.
+	 * @post	| (new this).getCategory() == category
+	 * @throws	IllegalArgumentException
+	 * 			The given category is not valid.
+	 * 			| !CollisionFilter.isValidCategory(category)
+	 */
+	public void setCategory(int category) throws IllegalArgumentException {
+		if (!CollisionFilter.isValidCategory(category))
+			throw new IllegalArgumentException("Invalid category!");
+		this.category = category;
+		invalidate();
+	}
+	
+	/**
+	 * Variable registering the collision category set for this collidable, or -1 if none was set.
+	 */
+	private int category = -1;
+	
+	/**
+	 * Return the mask of the collision categories this collidable accepts to collide with.
+	 */
+	@Basic
+	public int getCollisionMask() {
+		return this.collisionMask;
+	}
+	
+	/**
+	 * Set the mask of the collision categories this collidable accepts to collide with to the given mask.
+	 * 
+	 * @param 	collisionMask
+	 * 			The new mask, holding the bit CollisionFilter.getMask(category) for each accepted category.
+	 * @post	| (new this).getCollisionMask() == collisionMask
+	 */
+	public void setCollisionMask(int collisionMask) {
+		this.collisionMask = collisionMask;
+		invalidate();
 	}
 	
+	/**
+	 * Variable registering the mask of the collision categories this collidable accepts to collide with.
+	 */
+	private int collisionMask = CollisionFilter.ALL;
+	
 	/**
 	 * Check whether this collidable can have the given velocity as its velocity.
 	 * 
@@ -192,22 +601,42 @@ public abstract class Collidable {
 	 */
 	@Raw
 	public boolean canHaveAsVelocity(Vector velocity) {
-		return 	(velocity != null)
-				&& Util.fuzzyLessThanOrEqualTo(0.0,Math.sqrt(velocity.dotProduct(velocity)))
-				&& Util.fuzzyLessThanOrEqualTo(Math.sqrt(velocity.dotProduct(velocity)), getSpeedLimit());	
+		return 	(velocity != null) && canHaveAsSpeed(Math.sqrt(velocity.dotProduct(velocity)));	
+	}
+	
+	/**
+	 * Check whether this collidable can move at the given speed.
+	 */
+	@Raw
+	private boolean canHaveAsSpeed(double speed) {
+		return Util.fuzzyLessThanOrEqualTo(0.0,speed) && Util.fuzzyLessThanOrEqualTo(speed, getSpeedLimit());
 	}
 	
 	/**
-	 * Variable registering the velocity of this collidable.
+	 * Variables registering the components of the velocity of this collidable.
+	 */
+	private double velocityX, velocityY;
+	
+	/**
+	 * Variable registering whether this collidable has been given a velocity.
+	 */
+	private boolean moving = false;
+	
+	/**
+	 * Variable caching the velocity of this collidable as a vector,
+	 * or null if that vector was not asked for since the velocity last changed.
 	 */
 	private Vector velocity = null;
 	
 	/**
 	 * Returns the speed limit of this collidable.
+	 * 
+	 * @return	The speed limit of this collidable never exceeds the speed of light of its configuration.
+	 * 			| result <= getConfig().getSpeedOfLight()
 	 */
 	@Basic @Raw
 	public double getSpeedLimit() {
-		return this.speedLimit;
+		return Math.min(this.speedLimit, getConfig().getSpeedOfLight());
 	}
 	
 	/**
@@ -232,13 +661,13 @@ public abstract class Collidable {
 	 * 			The speed limit to check.
 	 * @return	True if and only if the given speed limit is a number and if it is less than the speed of light.
 	 * 			| result == !Double.isNaN(speedLimit)
-	 * 			|			&& Util.fuzzyLessThanOrEqualTo(speedLimit,SPEED_OF_LIGHT)
+	 * 			|			&& Util.fuzzyLessThanOrEqualTo(speedLimit,getConfig().getSpeedOfLight())
 	 * 			|			&& Util.fuzzyLessThanOrEqualTo(0.0,speedLimit)
 	 */
 	@Raw
 	public boolean canHaveAsSpeedLimit(double speedLimit) {
 		return 	!Double.isNaN(speedLimit) 
-				&& Util.fuzzyLessThanOrEqualTo(speedLimit,SPEED_OF_LIGHT)
+				&& Util.fuzzyLessThanOrEqualTo(speedLimit,getConfig().getSpeedOfLight())
 				&& Util.fuzzyLessThanOrEqualTo(0.0,speedLimit);
 	}
 	
@@ -248,33 +677,19 @@ public abstract class Collidable {
 	private double speedLimit = 0;
 	
 	/**
-	 * Symbolic constant registering the speed of light.
+	 * Symbolic constant registering the speed of light of the default configuration.
 	 */
-	public static double SPEED_OF_LIGHT = 300000.0; 
+	public static final double SPEED_OF_LIGHT = 300000.0; 
 	
 	/**
-	 * Returns the minimum radius for all collidables.
-	 */
-	@Basic @Raw
-	public static double getMinRadius() {
-		return minRadius;
-	}
-	
-	/**
-	 * Set the minimum radius that applies to all collidables to the given minimum radius.
+	 * Returns the minimum radius for all collidables of the default configuration.
+	 * 	Collidables with another minimum radius belong to a world created with a configuration of its own.
 	 * 
-	 * @param 	minRadius
-	 * 			The new minimum radius for all collidables.
-	 * @post	The new minimum radius that applies to all collidables is set to the given minimum radius.
-	 * 			| (new Collidable).minRadius == minRadius
-	 * @throws 	IllegalArgumentException
-	 * 			The given minimum radius is not a valid minimum radius.
-	 * 			| !isValidMinRadius(minRadius)
+	 * @see		WorldConfig#withMinRadius(double)
 	 */
-	public static void setMinRadius(double minRadius) throws IllegalArgumentException {
-		if(!isValidMinRadius(minRadius))
-			throw new IllegalArgumentException();
-		Collidable.minRadius = minRadius;
+	@Basic @Raw @Immutable
+	public static double getMinRadius() {
+		return MIN_RADIUS;
 	}
 	
 	/**
@@ -292,9 +707,9 @@ public abstract class Collidable {
 	}
 	
 	/**
-	 * Variable registering the minimum radius that applies to all collidables.
+	 * Symbolic constant registering the minimum radius of the collidables of the default configuration.
 	 */
-	private static double minRadius = 0;
+	private static final double MIN_RADIUS = 0;
 	
 	/**
 	 * Return the radius of this collidable.
@@ -311,18 +726,18 @@ public abstract class Collidable {
 	 * 			The radius to check.
 	 * @return	True if and only if the given radius is a number and if it is greater than the mininum radius.
 	 * 			| result == !Double.isNaN(minRadius)
-	 * 			|			&& (radius >= minRadius)
+	 * 			|			&& (radius >= getConfig().getMinRadius())
 	 */
 	@Raw
 	public boolean canHaveAsRadius(double radius) {	
 		return 	!Double.isNaN(radius)
-				&& (Util.fuzzyLessThanOrEqualTo(getMinRadius(), radius));
+				&& (Util.fuzzyLessThanOrEqualTo(getConfig().getMinRadius(), radius));
 	}
 	
 	/**
 	 * Variable registering the radius of this collidable.
 	 */
-	private final double radius;
+	private double radius;
 	
 	/**
 	 * Returns the mass of this collidable.
@@ -337,6 +752,21 @@ public abstract class Collidable {
 		return this.world;
 	}
 	
+	/**
+	 * Return the configuration of the rules this collidable obeys.
+	 * 
+	 * @return	The configuration of the world of this collidable, or the default configuration
+	 * 			if this collidable is not attached to a world.
+	 * 			| if (getWorld() != null)
+	 * 			|	then result == getWorld().getConfig()
+	 * 			|	else result.equals(WorldConfig.getDefault())
+	 */
+	@Raw
+	public WorldConfig getConfig() {
+		World world = getWorld();
+		return (world != null) ? world.getConfig() : WorldConfig.getDefault();
+	}
+	
 	/**
 	 * Set the world of this collidable to the given world.
 	 * 
@@ -356,7 +786,10 @@ public abstract class Collidable {
 	void setWorld(World world) {
 		assert ( (world == null) || world.hasAsCollidable(this) );
 		assert ( (world != null) || (getWorld() == null) || (!getWorld().hasAsCollidable(this)) );
+		anchor();
 		this.world = world;
+		this.referenceTime = getCurrentTime();
+		this.version++;
 	}
 	
 	/**
@@ -392,6 +825,57 @@ public abstract class Collidable {
 	 */
 	private World world = null;
 	
+	/**
+	 * Return the version of this collidable.
+	 * 	The version changes each time this collidable changes its course or its world, so that
+	 * 	collisions predicted before that change can be recognized as stale.
+	 */
+	@Basic @Raw
+	int getVersion() {
+		return this.version;
+	}
+	
+	/**
+	 * Register that this collidable changed its course.
+	 * 
+	 * @post	The version of this collidable has changed.
+	 * 			| (new this).getVersion() != getVersion()
+	 * @effect	If this collidable is attached to a world, that world is notified.
+	 * 			| if (getWorld() != null)
+	 * 			|	then getWorld().invalidate(this)
+	 */
+	@Raw
+	void invalidate() {
+		this.version++;
+		if (getWorld() != null)
+			getWorld().invalidate(this);
+	}
+	
+	/**
+	 * Variable registering the version of this collidable.
+	 */
+	private int version = 0;
+	
+	/**
+	 * Return the serial number of this collidable.
+	 * 	Collidables created later have higher serial numbers, so the serial numbers order the collidables 
+	 * 	of a world the same way in every run, unlike their hash codes. A reinitialized collidable counts as created anew.
+	 */
+	@Basic @Raw
+	long getSerialNumber() {
+		return this.serialNumber;
+	}
+	
+	/**
+	 * Variable registering the serial number of this collidable.
+	 */
+	private long serialNumber = nextSerialNumber.getAndIncrement();
+	
+	/**
+	 * Variable registering the serial number of the next collidable to be created.
+	 */
+	private static final AtomicLong nextSerialNumber = new AtomicLong();
+	
 	/**
 	 * Returns a boolean reflecting whether this collidable and the given collidable overlap.
 	 * 
@@ -447,12 +931,8 @@ public abstract class Collidable {
 			throw new IllegalStateException("The given collidable is terminated!");
 		if(other.equals(this))
 			return 0.0;
-		try{
-			Vector delta = this.getPosition().subtract(other.getPosition());
-			return Math.sqrt(delta.dotProduct(delta)) - this.getRadius() - other.getRadius();
-		} catch(TimesOverflowException exc){
-			return Double.POSITIVE_INFINITY;
-		}
+		return Kinematics.getDistanceBetween(this.getPositionX(), this.getPositionY(), this.getRadius(), 
+				other.getPositionX(), other.getPositionY(), other.getRadius());
 	}
 	
 	/**
@@ -488,10 +968,12 @@ public abstract class Collidable {
 		if (isTerminated())
 			throw new IllegalStateException("This collidable is terminated!");
 		if(getWorld() !=null) {
-			double minX = getPosition().getXComponent() - radius;
-			double maxX = getWorld().getWidth() -getPosition().getXComponent() - radius;
-			double minY = getPosition().getYComponent() - radius;
-			double maxY = getWorld().getHeight() - getPosition().getYComponent() - radius;
+			double x = getPositionX();
+			double y = getPositionY();
+			double minX = x - radius;
+			double maxX = getWorld().getWidth() - x - radius;
+			double minY = y - radius;
+			double maxY = getWorld().getHeight() - y - radius;
 			return Math.min(Math.min(minY, minX), Math.min(maxY, maxX));
 		}
 		return Double.POSITIVE_INFINITY;
@@ -525,30 +1007,9 @@ public abstract class Collidable {
 	public double getTimeToCollision(Collidable other) throws IllegalArgumentException{
 		if (other == null)
 			throw new IllegalArgumentException("Non effective collidable!");
-		
-		Vector deltaR = other.getPosition().subtract(this.getPosition());
-		Vector deltaV = other.getVelocity().subtract(this.getVelocity());
-		
-		try {
-			double sigma = this.getRadius() + other.getRadius();
-			double dotProductR = deltaR.dotProduct(deltaR);
-			double dotProductV = deltaV.dotProduct(deltaV);
-			double dotProductVR = deltaV.dotProduct(deltaR);
-			double d = (dotProductVR*dotProductVR) - dotProductV*(dotProductR-(sigma*sigma));
-			
-			if (Util.fuzzyLessThanOrEqualTo(0,dotProductVR))
-				return Double.POSITIVE_INFINITY;
-			else if (Util.fuzzyLessThanOrEqualTo(d,0))
-				return Double.POSITIVE_INFINITY;
-			else
-				try {
-					return (-(dotProductVR+Math.sqrt(d))/dotProductV);
-				} catch (ArithmeticException exc) {
-					return Double.POSITIVE_INFINITY;
-				}	
-		} catch (TimesOverflowException exc) {
-			return Double.POSITIVE_INFINITY;
-		}
+		return Kinematics.getTimeToCollision(
+				this.getPositionX(), this.getPositionY(), this.velocityX, this.velocityY, this.getRadius(), 
+				other.getPositionX(), other.getPositionY(), other.velocityX, other.velocityY, other.getRadius());
 	}
 
 
@@ -577,10 +1038,12 @@ public abstract class Collidable {
 	 * 			|		new.getDistanceToClosestBoundary == 0
 	 */
 	private double getMinXCollision() {
-		if(!Util.fuzzyEquals(0, getVelocity().getXComponent())) {
-			double maximumXTime = (getWorld().getWidth() - getPosition().getXComponent() - getRadius())/getVelocity().getXComponent();
-			double zeroXTime = -(getPosition().getXComponent() - getRadius())/getVelocity().getXComponent();
-			if(!Util.fuzzyLessThanOrEqualTo(0, getVelocity().getXComponent())) {
+		double vx = this.velocityX;
+		if(!Util.fuzzyEquals(0, vx)) {
+			double x = getPositionX();
+			double maximumXTime = (getWorld().getWidth() - x - getRadius())/vx;
+			double zeroXTime = -(x - getRadius())/vx;
+			if(!Util.fuzzyLessThanOrEqualTo(0, vx)) {
 				return zeroXTime;
 			}
 			return maximumXTime;
@@ -596,10 +1059,12 @@ public abstract class Collidable {
 	 * 			|		new.getDistanceToClosestBoundary == 0
 	 */
 	private double getMinYCollision() {
-		if(!Util.fuzzyEquals(0, getVelocity().getYComponent())) {
-			double maximumYTime = (getWorld().getHeight() - getPosition().getYComponent() - getRadius())/getVelocity().getYComponent();
-			double zeroYTime = -(getPosition().getYComponent() - getRadius())/getVelocity().getYComponent();
-			if(!Util.fuzzyLessThanOrEqualTo(0, getVelocity().getYComponent())) {
+		double vy = this.velocityY;
+		if(!Util.fuzzyEquals(0, vy)) {
+			double y = getPositionY();
+			double maximumYTime = (getWorld().getHeight() - y - getRadius())/vy;
+			double zeroYTime = -(y - getRadius())/vy;
+			if(!Util.fuzzyLessThanOrEqualTo(0, vy)) {
 				return zeroYTime;
 			}
 			return maximumYTime;
@@ -613,15 +1078,51 @@ public abstract class Collidable {
 	 * @return	True if and only if the world to which this 
 	 * 			collidable is attached to is effective and is a proper world for this collidable, 
 	 * 			which also includes that this collidable is not terminated and effective. 
-	 * 			And if the time to collision of this collidable with the boundary is equal to zero.
+	 * 			And if the time to collision of this collidable with the boundary is equal to zero, or if this collidable
+	 * 			penetrates the boundary of a world that evolves approximately.
 	 * 			| result == ( !((getWorld() == null) && hasProperWorld())
-	 *			|			&& (Util.fuzzyEquals(getTimeToCollisionWithBoundary(),0.0)))
+	 *			|			&& (Util.fuzzyEquals(getTimeToCollisionWithBoundary(),0.0) || isPenetratingBoundary()))
 	 */
 	// REMINDER: hasProperWorld() also calls the complementary checker canHaveAsCollidable() from the bidirectional association.
 	//           Hence, terminated collidables are also included in the if construct.	
 	public boolean canBounceOfBoundary() {
 		return ( !((getWorld() == null) && hasProperWorld())
-				&& (Util.fuzzyEquals(getTimeToCollisionWithBoundary(),0.0)));
+				&& (Util.fuzzyEquals(getTimeToCollisionWithBoundary(),0.0) || isPenetratingBoundary()));
+	}
+	
+	/**
+	 * Check whether this collidable overlaps with the boundary of its world while moving outwards, 
+	 * in a world that evolves approximately.
+	 * 	Approximate steps only notice a collision with the boundary once the collidable overlaps with it.
+	 * 
+	 * @return	| result == getWorld() != null && getWorld().isApproximate()
+	 * 			|	&& ((getPosition().getXComponent() - getRadius() <= 0 && getVelocity().getXComponent() < 0)
+	 * 			|		|| (getPosition().getXComponent() + getRadius() >= getWorld().getWidth() && getVelocity().getXComponent() > 0)
+	 * 			|		|| (getPosition().getYComponent() - getRadius() <= 0 && getVelocity().getYComponent() < 0)
+	 * 			|		|| (getPosition().getYComponent() + getRadius() >= getWorld().getHeight() && getVelocity().getYComponent() > 0))
+	 */
+	boolean isPenetratingBoundary() {
+		if (getWorld() == null || !getWorld().isApproximate())
+			return false;
+		return isPenetratingBoundaryAlongX() || isPenetratingBoundaryAlongY();
+	}
+	
+	/**
+	 * Check whether this collidable overlaps with the left or right boundary of its world while moving towards it.
+	 */
+	private boolean isPenetratingBoundaryAlongX() {
+		double x = getPositionX();
+		double vx = this.velocityX;
+		return (x - getRadius() <= 0 && vx < 0) || (x + getRadius() >= getWorld().getWidth() && vx > 0);
+	}
+	
+	/**
+	 * Check whether this collidable overlaps with the lower or upper boundary of its world while moving towards it.
+	 */
+	private boolean isPenetratingBoundaryAlongY() {
+		double y = getPositionY();
+		double vy = this.velocityY;
+		return (y - getRadius() <= 0 && vy < 0) || (y + getRadius() >= getWorld().getHeight() && vy > 0);
 	}
 
 
@@ -647,17 +1148,25 @@ public abstract class Collidable {
 	public void bounceOfBoundary(){
 		if (canBounceOfBoundary()) {
 			Vector newVelocity;
-			if(Util.fuzzyEquals(getPosition().getXComponent(),getRadius())) {
-				newVelocity = new Vector(-getVelocity().getXComponent(),getVelocity().getYComponent());
+			double x = getPositionX();
+			double y = getPositionY();
+			double vx = this.velocityX;
+			double vy = this.velocityY;
+			if(isPenetratingBoundary()) {
+				// the velocity is reflected off every boundary this collidable penetrates
+				newVelocity = new Vector(isPenetratingBoundaryAlongX() ? -vx : vx, isPenetratingBoundaryAlongY() ? -vy : vy);
 			}
-			else if(Util.fuzzyEquals(getPosition().getYComponent()+getRadius(),getWorld().getHeight())) {
-				newVelocity = new Vector(getVelocity().getXComponent(),-getVelocity().getYComponent());
+			else if(Util.fuzzyEquals(x,getRadius())) {
+				newVelocity = new Vector(-vx,vy);
 			}
-			else if(Util.fuzzyEquals(getPosition().getXComponent()+getRadius(),getWorld().getWidth())) {
-				newVelocity = new Vector(-getVelocity().getXComponent(),getVelocity().getYComponent());
+			else if(Util.fuzzyEquals(y+getRadius(),getWorld().getHeight())) {
+				newVelocity = new Vector(vx,-vy);
+			}
+			else if(Util.fuzzyEquals(x+getRadius(),getWorld().getWidth())) {
+				newVelocity = new Vector(-vx,vy);
 			}
 			else {
-				newVelocity = new Vector(getVelocity().getXComponent(),-getVelocity().getYComponent());
+				newVelocity = new Vector(vx,-vy);
 			}
 			setVelocity(newVelocity);
 		}
@@ -672,11 +1181,12 @@ public abstract class Collidable {
 	 * @return	True if and only if the world to which the other collidable is attached, is effective and is a proper world for the other 
 	 * 			collidable, which also includes that the other collidable is not terminated and effective. And if the world to which this 
 	 * 			collidable is attached, is effective and is a proper world for this collidable, which also includes that this collidable
-	 * 			is not terminated and effective. And if the time to collision of this collidable with the other collidable is equal to zero.
+	 * 			is not terminated and effective. And if the time to collision of this collidable with the other collidable is equal to zero,
+	 * 			or if both collidables penetrate each other in a world that evolves approximately.
 	 * 			| result == ( !((other.getWorld() == null) && other.hasProperWorld())  
 	 *			|			&& !((getWorld() == null) && hasProperWorld())
 	 *			|			&& ((this.getWorld() == other.getWorld())) )
-	 *			|			&& (Util.fuzzyEquals(getTimeToCollision(other),0.0));
+	 *			|			&& (Util.fuzzyEquals(getTimeToCollision(other),0.0) || isPenetrating(other));
 	 */
 	//REMINDER: canBounce does not have to check if other is non-effective, because the method bounce has a restricted use. 
 	//          It can only be used for collidables in the list of collidables of a world, which can never be null. 
@@ -684,7 +1194,31 @@ public abstract class Collidable {
 		return ( !((other.getWorld() == null) && other.hasProperWorld())  
 				&& !((getWorld() == null) && hasProperWorld())
 				&& ((this.getWorld() == other.getWorld())) )
-				&& (Util.fuzzyEquals(getTimeToCollision(other),0.0));	
+				&& (Util.fuzzyEquals(getTimeToCollision(other),0.0) || isPenetrating(other));	
+	}
+	
+	/**
+	 * Check whether this collidable and the given collidable overlap while approaching each other, 
+	 * in a world that evolves approximately.
+	 * 	Approximate steps only notice a collision once both collidables overlap.
+	 * 
+	 * @param 	other
+	 * 			The other collidable.
+	 * @return	| let
+	 * 			|	deltaR = other.getPosition().subtract(getPosition())
+	 * 			|	deltaV = other.getVelocity().subtract(getVelocity())
+	 * 			| in
+	 * 			|	result == getWorld() != null && getWorld().isApproximate() && other.getWorld() == getWorld()
+	 * 			|		&& other != this && overlap(other) && deltaR.dotProduct(deltaV) < 0
+	 */
+	boolean isPenetrating(Collidable other) {
+		if (getWorld() == null || !getWorld().isApproximate() || other.getWorld() != getWorld() || other == this)
+			return false;
+		double dx = other.getPositionX() - getPositionX();
+		double dy = other.getPositionY() - getPositionY();
+		double dvx = other.velocityX - this.velocityX;
+		double dvy = other.velocityY - this.velocityY;
+		return overlap(other) && dx * dvx + dy * dvy < 0;
 	}
 
 
@@ -705,28 +1239,22 @@ public abstract class Collidable {
 	//           Hence, terminated collidables are also included in the if construct.	
 	protected void bounce(Collidable other) {
 		if (canBounce(other)) {
-			try {
-				Vector deltaR = other.getPosition().subtract(this.getPosition());
-				Vector deltaV = other.getVelocity().subtract(this.getVelocity());
-				double sigma = this.getRadius()+other.getRadius();
-				
-				if(Util.fuzzyLessThanOrEqualTo(Math.abs(2*this.getMass()*other.getMass()*deltaR.dotProduct(deltaV)),Double.MAX_VALUE)
-						&& Util.fuzzyLessThanOrEqualTo(sigma*(this.getMass()+other.getMass()), Double.MAX_VALUE)) {
-					
-					double J = 2*this.getMass()*other.getMass()*deltaR.dotProduct(deltaV)/(sigma*(this.getMass()+other.getMass()));
-					Vector Jvector = deltaR.scale(J/sigma);
-					
-					Vector newVelocityThis = this.getVelocity().add(Jvector.scale(1/this.getMass()));
-					Vector newVelocityOther = other.getVelocity().subtract(Jvector.scale(1/other.getMass()));
-					
-					this.setVelocity(newVelocityThis);
-					other.setVelocity(newVelocityOther);
-					
-				} else { 
-					throw new TimesOverflowException();
-				}
-			} catch(Exception e) {
-				// if the calculation fails at any moment, the two collidables stop moving
+			double x1 = this.getPositionX(), y1 = this.getPositionY();
+			double x2 = other.getPositionX(), y2 = other.getPositionY();
+			double vx1 = this.velocityX, vy1 = this.velocityY;
+			double vx2 = other.velocityX, vy2 = other.velocityY;
+			double factor = Kinematics.getImpulseFactor(x1, y1, vx1, vy1, this.getRadius(), this.getMass(), 
+					x2, y2, vx2, vy2, other.getRadius(), other.getMass());
+			double jx = (x2 - x1) * factor;
+			double jy = (y2 - y1) * factor;
+			double newVx1 = vx1 + jx * (1/this.getMass()), newVy1 = vy1 + jy * (1/this.getMass());
+			double newVx2 = vx2 - jx * (1/other.getMass()), newVy2 = vy2 - jy * (1/other.getMass());
+			if (Kinematics.isFinite(newVx1) && Kinematics.isFinite(newVy1) 
+					&& Kinematics.isFinite(newVx2) && Kinematics.isFinite(newVy2)) {
+				this.setVelocity(new Vector(newVx1, newVy1));
+				other.setVelocity(new Vector(newVx2, newVy2));
+			} else {
+				// if the calculation overflows, the two collidables stop moving
 				this.setVelocity(new Vector(0,0));
 				other.setVelocity(new Vector(0,0));
 			}
@@ -754,17 +1282,11 @@ public abstract class Collidable {
 			throw new IllegalStateException();
 		if (!isValidTime(dt))
 			throw new IllegalArgumentException();
-		try{
-			setPosition(getPosition().add(getVelocity().scale(dt)));
-		} catch(SumOverflowException exc) {
-			setPosition(getPosition());
-		} 
-		catch(TimesOverflowException exc2) {
-			setPosition(getPosition());
-		}
-		catch(InvalidPositionException exc3) {
-			// do nothing
-		}
+		double x = Kinematics.move(getPositionX(), this.velocityX, dt);
+		double y = Kinematics.move(getPositionY(), this.velocityY, dt);
+		Vector position = (Kinematics.isFinite(x) && Kinematics.isFinite(y)) ? new Vector(x, y) : getPosition();
+		if (canHaveAsPosition(position))
+			setPosition(position);
 	}
 
 
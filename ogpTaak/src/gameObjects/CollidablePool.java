@@ -0,0 +1,159 @@
+package gameObjects;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import support.Vector;
+
+/**
+ * A class of pools recycling the terminated bullets and asteroids of a world.
+ *
+ * Bullets and asteroids terminated by their world are released to the pool of that world, which reinitializes them
+ * when the world needs a new bullet or asteroid, instead of creating one. Released collidables only become available
+ * once the world recycles them at the start of its next step, so a collidable is never reused while the step that
+ * terminated it can still refer to it. The number of free collidables of each kind is bounded by the capacity of the pool.
+ *
+ * @invar	| getNbFreeBullets() <= getCapacity() && getNbFreeAsteroids() <= getCapacity()
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class CollidablePool {
+
+	/**
+	 * Initialize this new pool, keeping at most the given number of free collidables of each kind.
+	 *
+	 * @param 	capacity
+	 * 			The capacity of this new pool.
+	 * @post	| (new this).getCapacity() == capacity
+	 * @throws	IllegalArgumentException
+	 * 			| capacity < 0
+	 */
+	CollidablePool(int capacity) throws IllegalArgumentException {
+		if (capacity < 0)
+			throw new IllegalArgumentException("Invalid capacity!");
+		this.capacity = capacity;
+	}
+
+	/**
+	 * The default capacity of a pool.
+	 */
+	static final int DEFAULT_CAPACITY = 256;
+
+	/**
+	 * Return the maximum number of free collidables of each kind this pool keeps.
+	 */
+	int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Variable registering the capacity of this pool.
+	 */
+	private final int capacity;
+
+	/**
+	 * Return a bullet with the given coordinates, velocity components and radius, recycled if this pool has a free bullet.
+	 * 	A recycled bullet is reinitialized in place, without allocating.
+	 *
+	 * @return	| result.getPosition().equals(new Vector(x,y)) && result.getRadius() == radius && result.getSource() == null
+	 * 			|	&& !result.isTerminated() && result.getWorld() == null
+	 */
+	Bullet obtainBullet(double x, double y, double xVelocity, double yVelocity, double radius) throws IllegalArgumentException {
+		Bullet bullet = freeBullets.pollFirst();
+		if (bullet == null) {
+			this.nbCreated++;
+			return new Bullet(new Vector(x,y), new Vector(xVelocity,yVelocity), radius);
+		}
+		bullet.reinitialize(x, y, xVelocity, yVelocity, radius);
+		return bullet;
+	}
+
+	/**
+	 * Return an asteroid with the given coordinates, velocity components and radius, and with a random stream seeded
+	 * with the given seed, recycled if this pool has a free asteroid.
+	 * 	A recycled asteroid is reinitialized in place and reseeds the random stream it owns.
+	 *
+	 * @return	| result.getPosition().equals(new Vector(x,y)) && result.getRadius() == radius
+	 * 			|	&& !result.isTerminated() && result.getWorld() == null
+	 */
+	Asteroid obtainAsteroid(double x, double y, double xVelocity, double yVelocity, double radius, long seed) throws IllegalArgumentException {
+		Asteroid asteroid = freeAsteroids.pollFirst();
+		if (asteroid == null) {
+			this.nbCreated++;
+			return new Asteroid(x, y, xVelocity, yVelocity, radius, seed);
+		}
+		asteroid.reinitialize(x, y, xVelocity, yVelocity, radius, seed);
+		return asteroid;
+	}
+
+	/**
+	 * Release the given terminated collidable to this pool, to be recycled at the start of the next step.
+	 * 	Collidables other than bullets and asteroids, bullets still attached to a ship and collidables a program 
+	 * 	may refer to are not pooled.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to release.
+	 */
+	void release(Collidable collidable) {
+		if (!collidable.isTerminated() || collidable.getWorld() != null || collidable.isReferencedByProgram())
+			return;
+		if (collidable instanceof Bullet && ((Bullet) collidable).getSource() == null)
+			this.released.add(collidable);
+		else if (collidable instanceof Asteroid)
+			this.released.add(collidable);
+	}
+
+	/**
+	 * Make the collidables released since the previous call available for reuse, up to the capacity of this pool.
+	 */
+	void recycle() {
+		for (Collidable collidable : this.released) {
+			if (collidable instanceof Bullet && freeBullets.size() < capacity)
+				freeBullets.addFirst((Bullet) collidable);
+			else if (collidable instanceof Asteroid && freeAsteroids.size() < capacity)
+				freeAsteroids.addFirst((Asteroid) collidable);
+		}
+		this.released.clear();
+	}
+
+	/**
+	 * Return the number of free bullets of this pool.
+	 */
+	int getNbFreeBullets() {
+		return freeBullets.size();
+	}
+
+	/**
+	 * Return the number of free asteroids of this pool.
+	 */
+	int getNbFreeAsteroids() {
+		return freeAsteroids.size();
+	}
+
+	/**
+	 * Return the number of collidables this pool had to create because it had no free collidable of the right kind.
+	 */
+	long getNbCreated() {
+		return this.nbCreated;
+	}
+
+	/**
+	 * Variable registering the number of collidables created by this pool.
+	 */
+	private long nbCreated = 0;
+
+	/**
+	 * Variables collecting the free bullets and asteroids of this pool, the most recently freed first.
+	 */
+	private final Deque<Bullet> freeBullets = new ArrayDeque<Bullet>();
+	private final Deque<Asteroid> freeAsteroids = new ArrayDeque<Asteroid>();
+
+	/**
+	 * List collecting the collidables released since the last time this pool recycled.
+	 */
+	private final List<Collidable> released = new ArrayList<Collidable>();
+}
@@ -0,0 +1,160 @@
+package gameObjects;
+
+import java.util.Comparator;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of predicted collisions of a collidable with another collidable or with the boundary of its world,
+ * as scheduled in the collision queue of a world.
+ * 
+ * Each event remembers the version of the collidables involved at the moment it was predicted. As soon as 
+ * one of these collidables changes its course, its version changes and the event becomes stale.
+ * 
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class CollisionEvent implements Comparable<CollisionEvent> {
+
+	/**
+	 * Initialize this new collision event with given collidables, given time and given sequence number.
+	 * 
+	 * @param 	first
+	 * 			The first collidable involved in this new event.
+	 * @param 	second
+	 * 			The second collidable involved in this new event, or null for a collision with the boundary.
+	 * @param 	time
+	 * 			The time at which this new event happens: since the start of the current step of the world 
+	 * 			in a collision queue, or as a time of the world itself in a boundary heap.
+	 * @param 	sequence
+	 * 			The sequence number of this new event, used to order simultaneous events.
+	 * @post	The collidables, their current versions, the time and the sequence number are registered.
+	 */
+	CollisionEvent(Collidable first, Collidable second, double time, long sequence) {
+		this.first = first;
+		this.second = second;
+		this.firstVersion = first.getVersion();
+		this.secondVersion = (second == null) ? 0 : second.getVersion();
+		this.time = time;
+		this.sequence = sequence;
+	}
+	
+	/**
+	 * Return the first collidable of this event.
+	 */
+	@Basic @Immutable
+	Collidable getFirst() {
+		return this.first;
+	}
+	
+	/**
+	 * Variable referencing the first collidable of this event.
+	 */
+	private final Collidable first;
+	
+	/**
+	 * Return the second collidable of this event, or null if this event is a collision with the boundary.
+	 */
+	@Basic @Immutable
+	Collidable getSecond() {
+		return this.second;
+	}
+	
+	/**
+	 * Variable referencing the second collidable of this event.
+	 */
+	private final Collidable second;
+	
+	/**
+	 * Variables registering the versions of the collidables of this event at the moment it was predicted.
+	 */
+	private final int firstVersion;
+	private final int secondVersion;
+	
+	/**
+	 * Return the time of this event, since the start of the current step of the world in a collision queue, 
+	 * or as a time of the world itself in a boundary heap.
+	 */
+	@Basic @Immutable
+	double getTime() {
+		return this.time;
+	}
+	
+	/**
+	 * Variable registering the time of this event.
+	 */
+	private final double time;
+	
+	/**
+	 * Variable registering the sequence number of this event.
+	 */
+	private final long sequence;
+	
+	/**
+	 * Check whether this event is still valid in the given world.
+	 * 
+	 * @param 	world
+	 * 			The world to check.
+	 * @return	True if and only if all collidables of this event are still attached to the given world
+	 * 			and none of them changed its course since this event was predicted.
+	 * 			| result == (getFirst().getWorld() == world && getFirst().getVersion() == firstVersion)
+	 * 			|	&& (getSecond() == null 
+	 * 			|		|| (getSecond().getWorld() == world && getSecond().getVersion() == secondVersion))
+	 */
+	boolean isValid(World world) {
+		if (first.getWorld() != world || first.getVersion() != firstVersion)
+			return false;
+		return (second == null) 
+				|| (second.getWorld() == world && second.getVersion() == secondVersion);
+	}
+	
+	/**
+	 * A comparator ordering simultaneous events the same way in every run: by the serial numbers of their
+	 * collidables, the lowest serial number of each event first, and collisions with the boundary last.
+	 */
+	static final Comparator<CollisionEvent> DETERMINISTIC_ORDER = new Comparator<CollisionEvent>() {
+		@Override
+		public int compare(CollisionEvent one, CollisionEvent other) {
+			int result = Long.compare(one.getLowestSerialNumber(), other.getLowestSerialNumber());
+			if (result != 0)
+				return result;
+			result = Long.compare(one.getHighestSerialNumber(), other.getHighestSerialNumber());
+			if (result != 0)
+				return result;
+			return one.compareTo(other);
+		}
+	};
+	
+	/**
+	 * Return the lowest serial number of the collidables of this event.
+	 */
+	private long getLowestSerialNumber() {
+		if (second == null)
+			return first.getSerialNumber();
+		return Math.min(first.getSerialNumber(), second.getSerialNumber());
+	}
+	
+	/**
+	 * Return the highest serial number of the collidables of this event, or Long.MAX_VALUE for a collision
+	 * with the boundary.
+	 */
+	private long getHighestSerialNumber() {
+		if (second == null)
+			return Long.MAX_VALUE;
+		return Math.max(first.getSerialNumber(), second.getSerialNumber());
+	}
+	
+	/**
+	 * Compare this event with the given event.
+	 * 
+	 * @return	Events are ordered by their time, simultaneous events by their sequence number.
+	 */
+	@Override
+	public int compareTo(CollisionEvent other) {
+		int result = Double.compare(this.time, other.time);
+		if (result != 0)
+			return result;
+		return Long.compare(this.sequence, other.sequence);
+	}
+}
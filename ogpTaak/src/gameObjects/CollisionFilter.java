@@ -0,0 +1,156 @@
+package gameObjects;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of collision filters, deciding which categories of collidables can interact with each other.
+ *
+ * Every collidable belongs to one category: ships, asteroids and bullets have a category of their own, and the
+ * remaining categories are free to tag collidables with. A filter holds a symmetric matrix over these categories;
+ * on top of that, every collidable holds a mask of the categories it accepts to interact with. Two collidables can
+ * only collide if the filter allows their categories to interact and if the mask of each of them contains the
+ * category of the other. Pairs that cannot collide are skipped before any time to collision is computed.
+ *
+ * @invar	| for each first in 0..NB_CATEGORIES-1: for each second in 0..NB_CATEGORIES-1:
+ * 			|	canInteract(first, second) == canInteract(second, first)
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+public class CollisionFilter {
+
+	/**
+	 * The category of ships.
+	 */
+	public static final int SHIP = 0;
+
+	/**
+	 * The category of asteroids.
+	 */
+	public static final int ASTEROID = 1;
+
+	/**
+	 * The category of bullets.
+	 */
+	public static final int BULLET = 2;
+
+	/**
+	 * The number of categories of a filter.
+	 */
+	public static final int NB_CATEGORIES = 32;
+
+	/**
+	 * The mask accepting all categories.
+	 */
+	public static final int ALL = -1;
+
+	/**
+	 * Initialize this new filter, letting all categories interact with each other.
+	 *
+	 * @post	| for each first in 0..NB_CATEGORIES-1: for each second in 0..NB_CATEGORIES-1:
+	 * 			|	(new this).canInteract(first, second)
+	 */
+	public CollisionFilter() {
+		for (int category = 0; category < NB_CATEGORIES; category++)
+			this.rows[category] = ALL;
+	}
+
+	/**
+	 * Check whether the given category is a valid category.
+	 *
+	 * @param 	category
+	 * 			The category to check.
+	 * @return	| result == (0 <= category && category < NB_CATEGORIES)
+	 */
+	public static boolean isValidCategory(int category) {
+		return 0 <= category && category < NB_CATEGORIES;
+	}
+
+	/**
+	 * Return the mask of the given category.
+	 *
+	 * @param 	category
+	 * 			The valid category.
+	 * @return	| result == 1 << category
+	 */
+	public static int getMask(int category) {
+		return 1 << category;
+	}
+
+	/**
+	 * Check whether this filter lets collidables of the given categories interact.
+	 *
+	 * @param 	first
+	 * 			The first category.
+	 * @param 	second
+	 * 			The second category.
+	 * @throws	IllegalArgumentException
+	 * 			One of the given categories is not valid.
+	 * 			| !isValidCategory(first) || !isValidCategory(second)
+	 */
+	@Basic
+	public boolean canInteract(int first, int second) throws IllegalArgumentException {
+		if (!isValidCategory(first) || !isValidCategory(second))
+			throw new IllegalArgumentException("Invalid category!");
+		return (this.rows[first] & getMask(second)) != 0;
+	}
+
+	/**
+	 * Let collidables of the given categories interact or not, according to the given flag.
+	 *
+	 * @param 	first
+	 * 			The first category.
+	 * @param 	second
+	 * 			The second category.
+	 * @param 	flag
+	 * 			Whether the given categories can interact.
+	 * @post	| (new this).canInteract(first, second) == flag
+	 * 			|	&& (new this).canInteract(second, first) == flag
+	 * @throws	IllegalArgumentException
+	 * 			One of the given categories is not valid.
+	 * 			| !isValidCategory(first) || !isValidCategory(second)
+	 */
+	public void setInteracting(int first, int second, boolean flag) throws IllegalArgumentException {
+		if (!isValidCategory(first) || !isValidCategory(second))
+			throw new IllegalArgumentException("Invalid category!");
+		if (flag) {
+			this.rows[first] |= getMask(second);
+			this.rows[second] |= getMask(first);
+		} else {
+			this.rows[first] &= ~getMask(second);
+			this.rows[second] &= ~getMask(first);
+		}
+	}
+
+	/**
+	 * Check whether the given collidables can collide according to this filter and to their masks.
+	 *
+	 * @param 	first
+	 * 			The first collidable.
+	 * @param 	second
+	 * 			The second collidable.
+	 * @return	| result == canInteract(first.getCategory(), second.getCategory())
+	 * 			|	&& (first.getCollisionMask() & getMask(second.getCategory())) != 0
+	 * 			|	&& (second.getCollisionMask() & getMask(first.getCategory())) != 0
+	 */
+	public boolean canCollide(Collidable first, Collidable second) {
+		return canCollide(first.getCategory(), first.getCollisionMask(), second.getCategory(), second.getCollisionMask());
+	}
+
+	/**
+	 * Check whether collidables with the given categories and masks can collide according to this filter.
+	 *
+	 * @see	#canCollide(Collidable, Collidable)
+	 */
+	boolean canCollide(int firstCategory, int firstMask, int secondCategory, int secondMask) {
+		return (this.rows[firstCategory] & getMask(secondCategory)) != 0
+				&& (firstMask & getMask(secondCategory)) != 0
+				&& (secondMask & getMask(firstCategory)) != 0;
+	}
+
+	/**
+	 * Variable registering, for each category, the mask of the categories it interacts with.
+	 */
+	private final int[] rows = new int[NB_CATEGORIES];
+}
@@ -0,0 +1,567 @@
+package gameObjects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import support.Collision;
+import support.Kinematics;
+import support.Vector;
+import asteroids.Util;
+
+/**
+ * A class of uniform grids used by a world as the broad phase of its collision detection.
+ *
+ * Each collidable is registered in every cell touched by the bounding box it sweeps over a given
+ * time horizon. Two collidables can only collide within that horizon if their swept boxes share
+ * a cell, so the narrow phase only computes the time to collision for those pairs.
+ *
+ * The cells and their buffers are kept alive between successive rebuilds, so that a world
+ * evolving over and over again does not reallocate its grid every time.
+ *
+ * @version	1.1
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class CollisionGrid {
+
+	/**
+	 * Initialize this new grid, skipping the pairs of collidables the given filter does not let collide.
+	 *
+	 * @param 	filter
+	 * 			The collision filter of the world of this grid.
+	 */
+	CollisionGrid(CollisionFilter filter) {
+		this.filter = filter;
+	}
+
+	/**
+	 * Variable referencing the collision filter of the world of this grid.
+	 */
+	private final CollisionFilter filter;
+
+	/**
+	 * Rebuild this grid for the given collidables, sweeping them over the given time horizon.
+	 *
+	 * @param 	collidables
+	 * 			The collidables to register in this grid.
+	 * @param 	horizon
+	 * 			The finite amount of time over which the collidables are swept.
+	 * @pre		The given horizon is a finite, non-negative number.
+	 * 			| !Double.isNaN(horizon) && !Double.isInfinite(horizon) && horizon >= 0
+	 */
+	void rebuild(List<Collidable> collidables, double horizon) {
+		assert !Double.isNaN(horizon) && !Double.isInfinite(horizon) && horizon >= 0;
+		stamp++;
+		nbEntities = 0;
+		nbOversized = 0;
+		indices.clear();
+		ensureCapacity(collidables.size());
+
+		double totalExtent = 0;
+		for (Collidable collidable : collidables) {
+			int i = nbEntities++;
+			entities[i] = collidable;
+			indices.put(collidable, i);
+			computeBox(i, horizon);
+			totalExtent += Math.max(maxX[i] - minX[i], maxY[i] - minY[i]);
+		}
+		if (nbEntities == 0)
+			return;
+
+		cellSize = totalExtent / nbEntities;
+		if (Double.isNaN(cellSize) || Double.isInfinite(cellSize) || cellSize < MIN_CELL_SIZE)
+			cellSize = MIN_CELL_SIZE;
+
+		if (cells.size() > PRUNE_FACTOR * nbEntities * MAX_CELLS_PER_ENTITY)
+			cells.clear();
+
+		for (int i = 0; i < nbEntities; i++) {
+			cellX0[i] = 0;
+			register(i);
+		}
+	}
+
+	/**
+	 * Register the given collidable anew in this grid, sweeping it from its current position
+	 * over the given time horizon. Collidables that are not yet registered in this grid are added;
+	 * collidables that are registered are first removed from the cells of their old swept box.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to update.
+	 * @param 	horizon
+	 * 			The finite amount of time over which the collidable is swept.
+	 */
+	void update(Collidable collidable, double horizon) {
+		Integer index = indices.get(collidable);
+		int i;
+		if (index == null) {
+			ensureCapacity(nbEntities + 1);
+			i = nbEntities++;
+			entities[i] = collidable;
+			indices.put(collidable, i);
+			cellX0[i] = 0;
+		} else {
+			i = index;
+			unregister(i);
+		}
+		computeBox(i, horizon);
+		register(i);
+	}
+
+	/**
+	 * Add all collidables of which the swept box overlaps with the swept box of the given collidable
+	 * to the given list.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to find candidates for.
+	 * @param 	candidates
+	 * 			The list to which the candidates are added.
+	 * @pre		The given collidable is registered in this grid.
+	 */
+	void collectCandidates(Collidable collidable, List<Collidable> candidates) {
+		int i = indices.get(collidable);
+		queryStamp++;
+		marks[i] = queryStamp;
+		if (isOversized(i)) {
+			for (int j = 0; j < nbEntities; j++)
+				collectCandidate(i, j, candidates);
+			return;
+		}
+		for (int cx = cellX0[i]; cx <= cellX1[i]; cx++) {
+			for (int cy = cellY0[i]; cy <= cellY1[i]; cy++) {
+				Cell cell = cells.get(getKey(cx, cy));
+				if (cell == null || cell.stamp != stamp)
+					continue;
+				for (int a = 0; a < cell.size; a++)
+					collectCandidate(i, cell.items[a], candidates);
+			}
+		}
+		for (int a = 0; a < nbOversized; a++)
+			collectCandidate(i, oversized[a], candidates);
+	}
+
+	/**
+	 * Add the collidable registered at the second index to the given list, if it has not been
+	 * added during the current query yet and if its swept box overlaps with the first one.
+	 */
+	private void collectCandidate(int i, int j, List<Collidable> candidates) {
+		if (marks[j] == queryStamp)
+			return;
+		marks[j] = queryStamp;
+		if (filter.canCollide(entities[i], entities[j]) && boxesOverlap(i, j))
+			candidates.add(entities[j]);
+	}
+
+	/**
+	 * Visit every pair of collidables of which the swept boxes overlap, as registered during the last rebuild.
+	 * Every pair is visited exactly once.
+	 *
+	 * @param 	visitor
+	 * 			The visitor to hand the pairs to.
+	 */
+	void visitPairs(PairVisitor visitor) {
+		for (Cell cell : cells.values()) {
+			if (cell.stamp == stamp)
+				visitPairs(cell, visitor);
+		}
+		for (int a = 0; a < nbOversized; a++)
+			visitOversizedPairs(oversized[a], visitor);
+	}
+
+	/**
+	 * Visit every pair of collidables of which the swept boxes overlap, as visitPairs does, but split over
+	 * spatial regions that are visited in parallel on the given pool.
+	 * 	The regions are strips of columns of cells, one strip for each of the given visitors. A pair is visited
+	 * 	in the region of the first cell its collidables share, so pairs across the border of two regions are
+	 * 	visited exactly once as well. The pairs of an oversized collidable are visited in a region of their own.
+	 * 	Each visitor is only ever used by a single thread, and only reads the collidables it is handed.
+	 *
+	 * @param 	visitors
+	 * 			The visitors of the regions, from the leftmost strip to the rightmost strip.
+	 * @param 	pool
+	 * 			The pool visiting the regions.
+	 * @pre		| visitors.length > 0
+	 */
+	void visitPairs(final PairVisitor[] visitors, ForkJoinPool pool) {
+		final List<List<Cell>> strips = new ArrayList<List<Cell>>(visitors.length);
+		for (int k = 0; k < visitors.length; k++)
+			strips.add(new ArrayList<Cell>());
+		long minColumn = Long.MAX_VALUE, maxColumn = Long.MIN_VALUE;
+		for (Cell cell : cells.values()) {
+			if (cell.stamp == stamp) {
+				minColumn = Math.min(minColumn, cell.x);
+				maxColumn = Math.max(maxColumn, cell.x);
+			}
+		}
+		long width = maxColumn - minColumn + 1;
+		for (Cell cell : cells.values()) {
+			if (cell.stamp == stamp)
+				strips.get((int) (((cell.x - minColumn) * visitors.length) / width)).add(cell);
+		}
+		final List<RecursiveAction> regions = new ArrayList<RecursiveAction>(visitors.length);
+		for (int k = 0; k < visitors.length; k++) {
+			final int region = k;
+			regions.add(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					for (Cell cell : strips.get(region))
+						visitPairs(cell, visitors[region]);
+					// the oversized collidables are dealt out over the regions
+					for (int a = region; a < nbOversized; a += visitors.length)
+						visitOversizedPairs(oversized[a], visitors[region]);
+				}
+
+				private static final long serialVersionUID = 1L;
+			});
+		}
+		if (ForkJoinTask.inForkJoinPool())
+			ForkJoinTask.invokeAll(regions);
+		else
+			pool.invoke(new RecursiveAction() {
+				@Override
+				protected void compute() {
+					invokeAll(regions);
+				}
+
+				private static final long serialVersionUID = 1L;
+			});
+	}
+
+	/**
+	 * Visit every pair of collidables of which the swept boxes overlap and of which the given cell is the first shared cell.
+	 */
+	private void visitPairs(Cell cell, PairVisitor visitor) {
+		for (int a = 0; a < cell.size; a++) {
+			int i = cell.items[a];
+			for (int b = a + 1; b < cell.size; b++) {
+				int j = cell.items[b];
+				if (isFirstSharedCell(i, j, cell.x, cell.y) && filter.canCollide(entities[i], entities[j]) 
+						&& boxesOverlap(i, j))
+					visitor.visit(entities[i], entities[j]);
+			}
+		}
+	}
+
+	/**
+	 * Visit every pair of the oversized collidable at the given index of which the swept boxes overlap.
+	 */
+	private void visitOversizedPairs(int i, PairVisitor visitor) {
+		for (int j = 0; j < nbEntities; j++) {
+			// pairs of two oversized collidables are only visited once
+			if (j != i && (!isOversized(j) || j > i) && filter.canCollide(entities[i], entities[j]) 
+					&& boxesOverlap(i, j))
+				visitor.visit(entities[i], entities[j]);
+		}
+	}
+
+	/**
+	 * An interface of visitors of pairs of collidables.
+	 */
+	interface PairVisitor {
+		void visit(Collidable first, Collidable second);
+	}
+
+	/**
+	 * Return the earliest collision between two collidables registered in this grid,
+	 * if that collision happens within the horizon this grid was last rebuilt for.
+	 *
+	 * @param 	horizon
+	 * 			The horizon this grid was last rebuilt for.
+	 * @return	The earliest collision between two registered collidables, computed with the same
+	 * 			rules as a pairwise scan over all collidables, or null if there is no such collision
+	 * 			within the given horizon.
+	 */
+	Collision getNextCollision(double horizon) {
+		EarliestPair earliest = new EarliestPair(horizon);
+		visitPairs(earliest);
+		if (earliest.first == null || !Util.fuzzyLessThanOrEqualTo(earliest.time, horizon))
+			return null;
+		return new Collision(earliest.first, earliest.second, earliest.time);
+	}
+
+	/**
+	 * A class of pair visitors remembering the pair that collides first.
+	 */
+	private static class EarliestPair implements PairVisitor {
+
+		private EarliestPair(double horizon) {
+			this.horizon = horizon;
+		}
+
+		@Override
+		public void visit(Collidable first, Collidable second) {
+			if (first.isSleeping() && second.isSleeping())
+				return;
+			double gap = first.getDistanceBetween(second);
+			if (!Util.fuzzyLessThanOrEqualTo(0, gap) || !Kinematics.canCloseGap(gap, first.getSpeed(), second.getSpeed(), horizon))
+				return;
+			double time = first.getTimeToCollision(second);
+			if (!Util.fuzzyLessThanOrEqualTo(this.time, time) && Util.fuzzyLessThanOrEqualTo(0, time)) {
+				this.time = time;
+				this.first = first;
+				this.second = second;
+			}
+		}
+
+		private final double horizon;
+		private Collidable first = null;
+		private Collidable second = null;
+		private double time = Double.MAX_VALUE;
+	}
+
+	/**
+	 * Compute the box swept by the collidable registered at the given index from its current position
+	 * over the given time horizon.
+	 */
+	private void computeBox(int i, double horizon) {
+		Collidable collidable = entities[i];
+		double sweep = horizon + Util.EPSILON;
+		Vector position = collidable.getPosition();
+		Vector velocity = collidable.getVelocity();
+		double radius = collidable.getRadius() + Util.EPSILON;
+		double x = position.getXComponent();
+		double y = position.getYComponent();
+		double dx = velocity.getXComponent() * sweep;
+		double dy = velocity.getYComponent() * sweep;
+		minX[i] = Math.min(x, x + dx) - radius;
+		maxX[i] = Math.max(x, x + dx) + radius;
+		minY[i] = Math.min(y, y + dy) - radius;
+		maxY[i] = Math.max(y, y + dy) + radius;
+	}
+
+	/**
+	 * Register the collidable at the given index in all cells touched by its swept box,
+	 * or as an oversized collidable if that box touches too many cells.
+	 */
+	private void register(int i) {
+		double cx0 = Math.floor(minX[i] / cellSize);
+		double cy0 = Math.floor(minY[i] / cellSize);
+		double cx1 = Math.floor(maxX[i] / cellSize);
+		double cy1 = Math.floor(maxY[i] / cellSize);
+		if (!isValidCellIndex(cx0) || !isValidCellIndex(cy0) || !isValidCellIndex(cx1) || !isValidCellIndex(cy1)
+				|| (cx1 - cx0 + 1) * (cy1 - cy0 + 1) > MAX_CELLS_PER_ENTITY) {
+			if (!isOversized(i))
+				oversized[nbOversized++] = i;
+			cellX0[i] = Integer.MIN_VALUE;
+			return;
+		}
+		if (isOversized(i))
+			removeOversized(i);
+		cellX0[i] = (int) cx0;
+		cellY0[i] = (int) cy0;
+		cellX1[i] = (int) cx1;
+		cellY1[i] = (int) cy1;
+		for (int cx = cellX0[i]; cx <= cellX1[i]; cx++) {
+			for (int cy = cellY0[i]; cy <= cellY1[i]; cy++) {
+				getCell(cx, cy).add(i);
+			}
+		}
+	}
+
+	/**
+	 * Remove the collidable registered at the given index from all cells touched by its swept box.
+	 * 	An oversized collidable is not registered in any cell; it stays an oversized collidable until it is registered anew.
+	 */
+	private void unregister(int i) {
+		if (isOversized(i))
+			return;
+		for (int cx = cellX0[i]; cx <= cellX1[i]; cx++) {
+			for (int cy = cellY0[i]; cy <= cellY1[i]; cy++) {
+				Cell cell = cells.get(getKey(cx, cy));
+				if (cell != null && cell.stamp == stamp)
+					cell.remove(i);
+			}
+		}
+	}
+
+	/**
+	 * Remove the collidable registered at the given index from the oversized collidables.
+	 */
+	private void removeOversized(int i) {
+		for (int a = 0; a < nbOversized; a++) {
+			if (oversized[a] == i) {
+				oversized[a] = oversized[--nbOversized];
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Check whether the swept boxes of the collidables registered at the given indices overlap.
+	 */
+	private boolean boxesOverlap(int i, int j) {
+		return !(minX[i] > maxX[j] || minX[j] > maxX[i] || minY[i] > maxY[j] || minY[j] > maxY[i]);
+	}
+
+	/**
+	 * Check whether the collidable registered at the given index spans too many cells to be registered in the cells.
+	 */
+	private boolean isOversized(int i) {
+		return cellX0[i] == Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Check whether the given cell is the cell with the lowest coordinates shared by the
+	 * collidables registered at the given indices, so that every pair is examined only once.
+	 */
+	private boolean isFirstSharedCell(int i, int j, int x, int y) {
+		return Math.max(cellX0[i], cellX0[j]) == x && Math.max(cellY0[i], cellY0[j]) == y;
+	}
+
+	/**
+	 * Check whether the given cell index can be stored as an integer.
+	 */
+	private static boolean isValidCellIndex(double index) {
+		return !Double.isNaN(index) && index > Integer.MIN_VALUE && index < Integer.MAX_VALUE;
+	}
+
+	/**
+	 * Return the key of the cell with the given coordinates.
+	 */
+	private static Long getKey(int x, int y) {
+		return (((long) x) << 32) ^ (y & 0xffffffffL);
+	}
+
+	/**
+	 * Return the cell with the given coordinates, emptied if it was last used in a previous rebuild.
+	 */
+	private Cell getCell(int x, int y) {
+		Long key = getKey(x, y);
+		Cell cell = cells.get(key);
+		if (cell == null) {
+			cell = new Cell(x, y);
+			cells.put(key, cell);
+		}
+		if (cell.stamp != stamp) {
+			cell.stamp = stamp;
+			cell.size = 0;
+		}
+		return cell;
+	}
+
+	/**
+	 * Make sure the per-collidable buffers of this grid can hold the given number of collidables,
+	 * keeping the collidables that are already registered.
+	 */
+	private void ensureCapacity(int capacity) {
+		if (entities.length >= capacity)
+			return;
+		int length = Math.max(capacity, 2 * entities.length);
+		entities = Arrays.copyOf(entities, length);
+		minX = Arrays.copyOf(minX, length);
+		minY = Arrays.copyOf(minY, length);
+		maxX = Arrays.copyOf(maxX, length);
+		maxY = Arrays.copyOf(maxY, length);
+		cellX0 = Arrays.copyOf(cellX0, length);
+		cellY0 = Arrays.copyOf(cellY0, length);
+		cellX1 = Arrays.copyOf(cellX1, length);
+		cellY1 = Arrays.copyOf(cellY1, length);
+		marks = Arrays.copyOf(marks, length);
+		oversized = Arrays.copyOf(oversized, length);
+	}
+
+	/**
+	 * Symbolic constant registering the maximum number of cells a single collidable may
+	 * occupy before it is checked against all other collidables instead.
+	 */
+	private static final int MAX_CELLS_PER_ENTITY = 64;
+
+	/**
+	 * Symbolic constant registering how many stale cells per live collidable are kept before the cells are discarded.
+	 */
+	private static final int PRUNE_FACTOR = 4;
+
+	/**
+	 * Symbolic constant registering the minimum size of a cell.
+	 */
+	private static final double MIN_CELL_SIZE = 1.0;
+
+	/**
+	 * Variable registering the cells of this grid, indexed by their packed coordinates.
+	 */
+	private final Map<Long, Cell> cells = new HashMap<Long, Cell>();
+
+	/**
+	 * Variable registering the number of the current rebuild of this grid.
+	 */
+	private int stamp = 0;
+
+	/**
+	 * Variable registering the number of the current candidate query of this grid.
+	 */
+	private int queryStamp = 0;
+
+	/**
+	 * Variable registering the size of the cells of this grid.
+	 */
+	private double cellSize = MIN_CELL_SIZE;
+
+	/**
+	 * Variable registering the index at which each collidable is registered in this grid.
+	 */
+	private final Map<Collidable, Integer> indices = new HashMap<Collidable, Integer>();
+
+	/**
+	 * Variables registering the collidables and their swept boxes.
+	 */
+	private Collidable[] entities = new Collidable[0];
+	private double[] minX = new double[0];
+	private double[] minY = new double[0];
+	private double[] maxX = new double[0];
+	private double[] maxY = new double[0];
+	private int[] cellX0 = new int[0];
+	private int[] cellY0 = new int[0];
+	private int[] cellX1 = new int[0];
+	private int[] cellY1 = new int[0];
+	private int[] marks = new int[0];
+	private int nbEntities = 0;
+
+	/**
+	 * Variables registering the collidables that span too many cells to be registered in the cells.
+	 */
+	private int[] oversized = new int[0];
+	private int nbOversized = 0;
+
+	/**
+	 * A class of cells of a collision grid, collecting the indices of the collidables that sweep through them.
+	 */
+	private static class Cell {
+
+		private Cell(int x, int y) {
+			this.x = x;
+			this.y = y;
+		}
+
+		private void add(int index) {
+			if (size == items.length) {
+				int[] grown = new int[2 * items.length];
+				System.arraycopy(items, 0, grown, 0, size);
+				items = grown;
+			}
+			items[size++] = index;
+		}
+
+		private void remove(int index) {
+			for (int a = 0; a < size; a++) {
+				if (items[a] == index) {
+					// keep the order of the other items, so that pairs are visited in the same order
+					System.arraycopy(items, a + 1, items, a, size - a - 1);
+					size--;
+					return;
+				}
+			}
+		}
+
+		private final int x;
+		private final int y;
+		private int stamp = -1;
+		private int[] items = new int[4];
+		private int size = 0;
+	}
+}
@@ -0,0 +1,307 @@
+package gameObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+import support.Kinematics;
+import asteroids.Util;
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of priority queues of predicted collisions, used by a world to advance over a single step.
+ * 
+ * The queue is filled once at the start of the step, using the collision grid of the world as its broad phase.
+ * Whenever a collision is resolved, only the collidables that changed their course are predicted anew;
+ * the events they were involved in before are recognized as stale through their versions and skipped.
+ * Collisions with the boundary are not predicted by the queue, but taken from the boundary heap of the world,
+ * which keeps them over many steps; the times of those events are counted from the start of the step as well.
+ * 
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class CollisionQueue {
+
+	/**
+	 * Initialize this new collision queue for the given world, given grid, given boundary heap and given step,
+	 * starting at the current time of the given world.
+	 * 	The collidables of the world that drifted back inside its boundary are rechecked once, for the whole step.
+	 * 
+	 * @param 	world
+	 * 			The world whose collisions are predicted.
+	 * @param 	grid
+	 * 			The collision grid used as broad phase.
+	 * @param	boundaries
+	 * 			The heap of the collisions of the collidables of the world with its boundary.
+	 * @param 	horizon
+	 * 			The length of the step; collisions after the step are not scheduled.
+	 */
+	CollisionQueue(World world, CollisionGrid grid, BoundaryHeap boundaries, double horizon) {
+		this.world = world;
+		this.grid = grid;
+		this.boundaries = boundaries;
+		this.horizon = horizon;
+		this.start = world.getTime();
+		boundaries.recheckOutside();
+	}
+	
+	/**
+	 * Variable referencing the world of this queue.
+	 */
+	private final World world;
+	
+	/**
+	 * Variable referencing the collision grid used by this queue.
+	 */
+	private final CollisionGrid grid;
+	
+	/**
+	 * Variable referencing the boundary heap of the world of this queue.
+	 */
+	private final BoundaryHeap boundaries;
+	
+	/**
+	 * Variable registering the time of the world of this queue at the start of its step.
+	 */
+	private final double start;
+	
+	/**
+	 * Return the length of the step this queue schedules collisions for.
+	 */
+	@Basic @Immutable
+	double getHorizon() {
+		return this.horizon;
+	}
+	
+	/**
+	 * Variable registering the length of the step this queue schedules collisions for.
+	 */
+	private final double horizon;
+	
+	/**
+	 * Predict all collisions of the given collidables with each other within the step of this queue.
+	 * 
+	 * @param 	collidables
+	 * 			The collidables of the world of this queue, at the start of the step.
+	 * @param	parallel
+	 * 			Whether the collisions between collidables may be predicted in parallel, one spatial region per task.
+	 * 			The events of the regions are scheduled in the order of the regions, once all regions are done.
+	 * 			Since simultaneous events are resolved in a deterministic order, the world evolves exactly as 
+	 * 			it does after a sequential prediction.
+	 */
+	void predictAll(List<Collidable> collidables, boolean parallel) {
+		grid.rebuild(collidables, horizon);
+		if (parallel && collidables.size() >= CollisionSearch.SEQUENTIAL_THRESHOLD) {
+			ForkJoinPool pool = CollisionSearch.getPool();
+			RegionPrediction[] regions = new RegionPrediction[REGIONS_PER_THREAD * pool.getParallelism()];
+			for (int k = 0; k < regions.length; k++)
+				regions[k] = new RegionPrediction();
+			grid.visitPairs(regions, pool);
+			for (RegionPrediction region : regions)
+				for (int a = 0; a < region.times.size(); a++)
+					schedule(region.firsts.get(a), region.seconds.get(a), 0, region.times.get(a));
+		}
+		else
+			grid.visitPairs(new CollisionGrid.PairVisitor() {
+				@Override
+				public void visit(Collidable first, Collidable second) {
+					predict(first, second, 0);
+				}
+			});
+	}
+	
+	/**
+	 * The number of spatial regions per thread of a parallel prediction, so that crowded regions are balanced by sparse ones.
+	 */
+	private static final int REGIONS_PER_THREAD = 4;
+	
+	/**
+	 * A class of pair visitors collecting the collisions predicted in a single spatial region, 
+	 * without touching the events of this queue.
+	 */
+	private class RegionPrediction implements CollisionGrid.PairVisitor {
+		
+		@Override
+		public void visit(Collidable first, Collidable second) {
+			double time = getTimeToCollision(first, second, 0);
+			if (Util.fuzzyLessThanOrEqualTo(time, horizon)) {
+				firsts.add(first);
+				seconds.add(second);
+				times.add(time);
+			}
+		}
+		
+		private final List<Collidable> firsts = new ArrayList<Collidable>();
+		
+		private final List<Collidable> seconds = new ArrayList<Collidable>();
+		
+		private final List<Double> times = new ArrayList<Double>();
+	}
+	
+	/**
+	 * Predict all collisions of the given collidable with other collidables anew, starting from the given time.
+	 * 	The world of the collidable has registered the change of its course with its boundary heap already.
+	 * 
+	 * @param 	collidable
+	 * 			The collidable that changed its course or that was added to the world.
+	 * @param 	now
+	 * 			The time since the start of the step.
+	 */
+	void predictAgain(Collidable collidable, double now) {
+		if (collidable.getWorld() != world)
+			return;
+		grid.update(collidable, Math.max(0, horizon - now));
+		candidates.clear();
+		grid.collectCandidates(collidable, candidates);
+		for (Collidable other : candidates) {
+			if (other.getWorld() == world)
+				predict(collidable, other, now);
+		}
+	}
+	
+	/**
+	 * Variable collecting the candidates of the collidable that is being predicted anew.
+	 */
+	private final List<Collidable> candidates = new ArrayList<Collidable>();
+	
+	/**
+	 * Schedule the collision of the given collidables, if they do not overlap and if they collide within the step.
+	 * Pairs too far apart to meet within the rest of the step cost a single distance computation.
+	 */
+	private void predict(Collidable first, Collidable second, double now) {
+		double time = getTimeToCollision(first, second, now);
+		if (time < Double.POSITIVE_INFINITY)
+			schedule(first, second, now, time);
+	}
+	
+	/**
+	 * Return when the given collidables collide, counted from the given time, or positive infinity if they
+	 * overlap or cannot meet within the rest of the step. This method only reads the given collidables.
+	 */
+	private double getTimeToCollision(Collidable first, Collidable second, double now) {
+		if (first.isSleeping() && second.isSleeping())
+			return Double.POSITIVE_INFINITY;
+		double gap = first.getDistanceBetween(second);
+		// overlapping collidables do not collide, and neither do collidables that cannot meet within the step
+		if (!Util.fuzzyLessThanOrEqualTo(0, gap) || !Kinematics.canCloseGap(gap, first.getSpeed(), second.getSpeed(), horizon - now))
+			return Double.POSITIVE_INFINITY;
+		return first.getTimeToCollision(second);
+	}
+	
+	/**
+	 * Schedule a collision of the given collidables after the given time to collision, counted from the given time.
+	 */
+	private void schedule(Collidable first, Collidable second, double now, double timeToCollision) {
+		if (!Util.fuzzyLessThanOrEqualTo(0, timeToCollision) 
+				|| !Util.fuzzyLessThanOrEqualTo(now + timeToCollision, horizon))
+			return;
+		events.add(new CollisionEvent(first, second, now + Math.max(0, timeToCollision), sequence++));
+	}
+	
+	/**
+	 * Remove all valid events of this queue that happen at the same time as the given event, up to rounding errors,
+	 * and return them together with the given event in a deterministic order.
+	 * 
+	 * @param 	earliest
+	 * 			The earliest event of this queue, as polled last.
+	 * @see		CollisionEvent#DETERMINISTIC_ORDER
+	 */
+	List<CollisionEvent> pollSimultaneous(CollisionEvent earliest) {
+		List<CollisionEvent> batch = new ArrayList<CollisionEvent>();
+		batch.add(earliest);
+		while (!events.isEmpty() && Util.fuzzyEquals(events.peek().getTime(), earliest.getTime())) {
+			CollisionEvent event = events.poll();
+			if (event.isValid(world))
+				batch.add(event);
+		}
+		CollisionEvent boundary = peekBoundary();
+		while (boundary != null && Util.fuzzyEquals(boundary.getTime() - start, earliest.getTime())) {
+			batch.add(pollBoundary());
+			boundary = peekBoundary();
+		}
+		if (batch.size() > 1)
+			Collections.sort(batch, CollisionEvent.DETERMINISTIC_ORDER);
+		return batch;
+	}
+	
+	/**
+	 * Remove and return the earliest event of this queue that is still valid, or null if there is no such event.
+	 */
+	CollisionEvent poll() {
+		CollisionEvent event = events.peek();
+		while (event != null && !event.isValid(world)) {
+			events.poll();
+			event = events.peek();
+		}
+		CollisionEvent boundary = peekBoundary();
+		if (boundary != null && (event == null || boundary.getTime() - start < event.getTime()))
+			return pollBoundary();
+		return events.poll();
+	}
+	
+	/**
+	 * Return the earliest collision with the boundary within the step of this queue, at its absolute time,
+	 * or null if there is no such collision.
+	 * 	Events that lie before the start of the step, for instance because the world was advanced without them,
+	 * 	are discarded and their collidables predicted anew.
+	 */
+	private CollisionEvent peekBoundary() {
+		CollisionEvent event = boundaries.peek();
+		while (event != null && !Util.fuzzyLessThanOrEqualTo(start, event.getTime())) {
+			boundaries.poll();
+			boundaries.invalidate(event.getFirst());
+			event = boundaries.peek();
+		}
+		if (event == null || !Util.fuzzyLessThanOrEqualTo(event.getTime() - start, horizon))
+			return null;
+		return event;
+	}
+	
+	/**
+	 * Remove the earliest collision with the boundary from the boundary heap, and return it as an event of this queue.
+	 * 
+	 * @pre		| peekBoundary() != null
+	 */
+	private CollisionEvent pollBoundary() {
+		CollisionEvent event = boundaries.poll();
+		return new CollisionEvent(event.getFirst(), null, Math.max(0, event.getTime() - start), sequence++);
+	}
+	
+	/**
+	 * Register that the given event, taken from this queue, was dropped without being resolved.
+	 * 	A collision with the boundary is predicted anew by the boundary heap; other collisions are predicted anew
+	 * 	at the start of the next step.
+	 * 
+	 * @param 	event
+	 * 			The dropped event.
+	 */
+	void drop(CollisionEvent event) {
+		if (event.getSecond() == null)
+			boundaries.invalidate(event.getFirst());
+	}
+	
+	/**
+	 * Return the number of events of this queue that are still valid, including the collisions with the boundary
+	 * within its step.
+	 */
+	int getNbPendingEvents() {
+		int count = boundaries.getNbEventsUntil(start + horizon);
+		for (CollisionEvent event : events)
+			if (event.isValid(world))
+				count++;
+		return count;
+	}
+	
+	/**
+	 * Variable collecting the events of this queue.
+	 */
+	private final PriorityQueue<CollisionEvent> events = new PriorityQueue<CollisionEvent>();
+	
+	/**
+	 * Variable registering the sequence number of the next event of this queue.
+	 */
+	private long sequence = 0;
+}
@@ -0,0 +1,326 @@
+package gameObjects;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import asteroids.Util;
+import support.Collision;
+import support.Kinematics;
+
+/**
+ * A class of searches for the earliest collision between two collidables of a snapshot of collidables.
+ *
+ * The search examines every pair of collidables of the snapshot, except the pairs of two sleeping collidables
+ * and the pairs the collision filter does not let collide.
+ * Large snapshots can be searched in parallel: the rows of the snapshot are split into fork/join tasks
+ * that each reduce to their own earliest collision. Among collisions at exactly the same time, the collision
+ * of the lowest pair of indices in the snapshot is chosen, so the parallel search returns the very same
+ * collision as the sequential search.
+ *
+ * When the collidables are searched through an entity store, their positions at the current time are copied
+ * into columns once, and each row is evaluated against all later columns at once by the batch kernel of Kinematics.
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class CollisionSearch {
+
+	/**
+	 * Initialize this new search over the given snapshot of collidables.
+	 *
+	 * @param 	snapshot
+	 * 			The collidables to search, in a stable order.
+	 * @param	store
+	 * 			The entity store whose slots correspond to the indices of the snapshot, or null.
+	 * @param	filter
+	 * 			The collision filter of the world of the collidables.
+	 * @param	now
+	 * 			The current time of the world of the collidables.
+	 * @param 	parallel
+	 * 			Whether this search may split its work over several threads.
+	 */
+	CollisionSearch(Collidable[] snapshot, EntityStore store, CollisionFilter filter, double now, boolean parallel) {
+		this.snapshot = snapshot;
+		this.store = store;
+		this.filter = filter;
+		this.now = now;
+		this.parallel = parallel && snapshot.length >= SEQUENTIAL_THRESHOLD;
+		this.sleeping = new boolean[snapshot.length];
+		this.categories = new int[snapshot.length];
+		this.masks = new int[snapshot.length];
+		for (int i = 0; i < snapshot.length; i++) {
+			this.sleeping[i] = snapshot[i].isSleeping();
+			this.categories[i] = snapshot[i].getCategory();
+			this.masks[i] = snapshot[i].getCollisionMask();
+		}
+		if (store != null) {
+			int n = snapshot.length;
+			this.xs = new double[n];
+			this.ys = new double[n];
+			this.vxs = new double[n];
+			this.vys = new double[n];
+			this.radii = new double[n];
+			store.copyColumns(now, xs, ys, vxs, vys, radii);
+		}
+		else
+			this.xs = this.ys = this.vxs = this.vys = this.radii = null;
+	}
+
+	/**
+	 * Variable referencing the collidables of this search.
+	 */
+	private final Collidable[] snapshot;
+	
+	/**
+	 * Variable referencing the entity store whose columns are searched, or null if the collidables are searched directly.
+	 */
+	private final EntityStore store;
+	
+	/**
+	 * Variables registering, for each slot of the entity store, the position at the current time, the velocity
+	 * and the radius of its collidable, or null if the collidables are searched directly.
+	 */
+	private final double[] xs, ys, vxs, vys, radii;
+
+	/**
+	 * Variable registering the current time of the world of the collidables.
+	 */
+	private final double now;
+
+	/**
+	 * Variable referencing the collision filter deciding which pairs of collidables can collide.
+	 */
+	private final CollisionFilter filter;
+
+	/**
+	 * Variables registering, for each collidable of this search, its collision category and mask.
+	 */
+	private final int[] categories, masks;
+
+	/**
+	 * Variable registering, for each collidable of this search, whether it is sleeping.
+	 * Pairs of sleeping collidables never collide, so they are skipped.
+	 */
+	private final boolean[] sleeping;
+
+	/**
+	 * Variable registering whether this search splits its work over several threads.
+	 */
+	private final boolean parallel;
+
+	/**
+	 * The number of collidables below which a search is always sequential.
+	 */
+	static final int SEQUENTIAL_THRESHOLD = 128;
+
+	/**
+	 * The number of pairs of collidables below which a task does not split any further.
+	 */
+	private static final int LEAF_PAIRS = 4096;
+
+	/**
+	 * Return the pool to run parallel searches and predictions in.
+	 * 	A world evolved by a worker of a fork/join pool, such as a match of a tournament, splits its work over
+	 * 	the pool of that worker instead of adding threads of its own. Other worlds share a single pool, 
+	 * 	created the first time it is needed.
+	 */
+	static ForkJoinPool getPool() {
+		if (ForkJoinTask.inForkJoinPool())
+			return ForkJoinTask.getPool();
+		return SharedPool.POOL;
+	}
+
+	/**
+	 * A class holding the pool shared by the worlds that are not evolved by a worker of a fork/join pool.
+	 */
+	private static class SharedPool {
+		
+		private static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+
+	/**
+	 * Return the buffer of the current thread receiving the times to collision of a row of a search over an entity
+	 * store, with room for at least the given number of times.
+	 * 	Each thread keeps a single buffer for all the leaf tasks and searches it runs, so that scanning a row 
+	 * 	does not allocate.
+	 */
+	private static double[] getTimesBuffer(int length) {
+		double[] times = TIMES.get();
+		if (times == null || times.length < length) {
+			times = new double[length];
+			TIMES.set(times);
+		}
+		return times;
+	}
+
+	/**
+	 * Variable referencing the buffer of each thread receiving the times to collision of a row.
+	 */
+	private static final ThreadLocal<double[]> TIMES = new ThreadLocal<double[]>();
+
+	/**
+	 * Return the earliest collision between two collidables of this search, or null if there is no such collision.
+	 * Pairs of collidables that overlap, or that collided in the past, are ignored.
+	 */
+	Collision getNextCollisionWithOther() {
+		Candidate best = run(new Task(0, snapshot.length));
+		if (best == null)
+			return null;
+		return new Collision(snapshot[best.first], snapshot[best.second], best.time);
+	}
+
+	/**
+	 * Run the given task, in parallel if this search is parallel.
+	 */
+	private Candidate run(Task task) {
+		if (!parallel)
+			return task.compute();
+		if (ForkJoinTask.inForkJoinPool())
+			return task.invoke();
+		return getPool().invoke(task);
+	}
+
+	/**
+	 * Check whether the collidables at the given indices may collide: they are not both sleeping
+	 * and the collision filter lets them collide.
+	 */
+	private boolean mayCollide(int i, int j) {
+		return !(sleeping[i] && sleeping[j]) && filter.canCollide(categories[i], masks[i], categories[j], masks[j]);
+	}
+
+	/**
+	 * Return the earliest of the given candidates, preferring the candidate with the lowest indices
+	 * if both happen at the same time.
+	 */
+	private static Candidate earliest(Candidate one, Candidate other) {
+		if (one == null)
+			return other;
+		if (other == null)
+			return one;
+		if (one.time != other.time)
+			return (one.time < other.time) ? one : other;
+		if (one.first != other.first)
+			return (one.first < other.first) ? one : other;
+		return (one.second <= other.second) ? one : other;
+	}
+
+	/**
+	 * A class of candidate collisions, referring to collidables by their index in the snapshot.
+	 */
+	private static class Candidate {
+
+		private Candidate(int first, int second, double time) {
+			this.first = first;
+			this.second = second;
+			this.time = time;
+		}
+
+		private final int first;
+
+		private final int second;
+
+		private final double time;
+	}
+
+	/**
+	 * A class of tasks searching the earliest collision of the collidables in a range of rows of the snapshot.
+	 * Row i of the pairwise search holds the pairs (i,j) with i < j.
+	 */
+	private class Task extends RecursiveTask<Candidate> {
+
+		private Task(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		private final int from;
+
+		private final int to;
+
+		/**
+		 * Return the earliest collision of the rows of this task.
+		 * 	Only a parallel search splits its tasks; a sequential search scans all of its rows in a single leaf,
+		 * 	on the thread that runs it, without forking.
+		 */
+		@Override
+		protected Candidate compute() {
+			if (parallel && to - from > 1 && getWork() > LEAF_PAIRS) {
+				Task left = new Task(from, splitRow());
+				Task right = new Task(left.to, to);
+				left.fork();
+				Candidate fromRight = right.compute();
+				return earliest(left.join(), fromRight);
+			}
+			return (store != null) ? scanStore() : scanPairs();
+		}
+
+		/**
+		 * Return the amount of work of this task.
+		 */
+		private long getWork() {
+			long n = snapshot.length;
+			return ((2 * n - from - to - 1) * (to - from)) / 2;
+		}
+
+		/**
+		 * Return the row that splits the work of this task in two halves.
+		 */
+		private int splitRow() {
+			long half = getWork() / 2;
+			long work = 0;
+			int row = from;
+			while (row < to - 1 && work < half) {
+				work += snapshot.length - 1 - row;
+				row++;
+			}
+			return Math.max(row, from + 1);
+		}
+
+		private Candidate scanPairs() {
+			int first = -1;
+			int second = -1;
+			double time = Double.MAX_VALUE;
+			int n = snapshot.length;
+			for (int i = from; i < to; i++) {
+				for (int j = i + 1; j < n; j++) {
+					if (!mayCollide(i, j))
+						continue;
+					if (!snapshot[i].overlap(snapshot[j])) {
+						double collisionWithOther = snapshot[i].getTimeToCollision(snapshot[j]);
+						if (collisionWithOther < time && Util.fuzzyLessThanOrEqualTo(0, collisionWithOther)) {
+							time = collisionWithOther;
+							first = i;
+							second = j;
+						}
+					}
+				}
+			}
+			return (first < 0) ? null : new Candidate(first, second, time);
+		}
+
+		private Candidate scanStore() {
+			int first = -1;
+			int second = -1;
+			double time = Double.MAX_VALUE;
+			int n = snapshot.length;
+			double[] times = getTimesBuffer(n);
+			for (int i = from; i < to; i++) {
+				Kinematics.getTimesToCollision(xs[i], ys[i], vxs[i], vys[i], radii[i], 
+						xs, ys, vxs, vys, radii, i + 1, n, true, times);
+				for (int j = i + 1; j < n; j++) {
+					double collisionWithOther = times[j];
+					if (collisionWithOther < time && Util.fuzzyLessThanOrEqualTo(0, collisionWithOther) && mayCollide(i, j)) {
+						time = collisionWithOther;
+						first = i;
+						second = j;
+					}
+				}
+			}
+			return (first < 0) ? null : new Candidate(first, second, time);
+		}
+
+		private static final long serialVersionUID = 1L;
+	}
+}
@@ -0,0 +1,190 @@
+package gameObjects;
+
+import support.Kinematics;
+
+/**
+ * A class of structure-of-arrays stores, holding the state of the collidables of a world in primitive columns.
+ *
+ * Each collidable in the store occupies a slot; the slots 0..size()-1 are dense. Removing a collidable moves the
+ * collidable in the last slot into the freed slot. The collidables remain the owners of their state and write
+ * every change of their position, velocity or reference time through to the store, so the kernels that examine
+ * all collidables at once can run over contiguous arrays instead of chasing references.
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class EntityStore {
+
+	/**
+	 * Initialize this new store without any collidables.
+	 */
+	EntityStore() {
+		allocate(INITIAL_CAPACITY);
+	}
+
+	/**
+	 * The number of slots of a new store.
+	 */
+	private static final int INITIAL_CAPACITY = 64;
+
+	/**
+	 * Return the number of collidables in this store.
+	 */
+	int size() {
+		return this.size;
+	}
+
+	/**
+	 * Variable registering the number of collidables in this store.
+	 */
+	private int size = 0;
+
+	/**
+	 * Return an array collecting the collidables of this store, in the order of their slots.
+	 */
+	Collidable[] toArray() {
+		Collidable[] result = new Collidable[size];
+		System.arraycopy(handles, 0, result, 0, size);
+		return result;
+	}
+
+	/**
+	 * Add the given collidable to this store.
+	 *
+	 * @param	collidable
+	 * 			The collidable to add.
+	 * @post	The given collidable occupies the last slot of this store.
+	 * 			| (new collidable).getSlot() == size()
+	 * 			|	&& (new this).toArray()[size()] == collidable
+	 */
+	void add(Collidable collidable) {
+		if (size == handles.length)
+			allocate(2 * size);
+		int slot = size++;
+		handles[slot] = collidable;
+		radius[slot] = collidable.getRadius();
+		collidable.setSlot(slot);
+		update(collidable);
+	}
+
+	/**
+	 * Remove the given collidable from this store, moving the collidable in the last slot into its slot.
+	 *
+	 * @param	collidable
+	 * 			The collidable to remove.
+	 * @post	| (new collidable).getSlot() == -1
+	 */
+	void remove(Collidable collidable) {
+		int slot = collidable.getSlot();
+		if (slot < 0 || slot >= size || handles[slot] != collidable)
+			return;
+		int last = --size;
+		if (slot != last) {
+			handles[slot] = handles[last];
+			x[slot] = x[last];
+			y[slot] = y[last];
+			vx[slot] = vx[last];
+			vy[slot] = vy[last];
+			time[slot] = time[last];
+			radius[slot] = radius[last];
+			handles[slot].setSlot(slot);
+		}
+		handles[last] = null;
+		collidable.setSlot(-1);
+	}
+
+	/**
+	 * Write the position, velocity and reference time of the given collidable through to its slot.
+	 *
+	 * @param	collidable
+	 * 			The collidable whose state changed.
+	 */
+	void update(Collidable collidable) {
+		int slot = collidable.getSlot();
+		x[slot] = collidable.getReferenceX();
+		y[slot] = collidable.getReferenceY();
+		vx[slot] = collidable.getVelocityX();
+		vy[slot] = collidable.getVelocityY();
+		time[slot] = collidable.getReferenceTime();
+	}
+
+	/**
+	 * Return the x-coordinate of the collidable in the given slot at the given time.
+	 */
+	private double getX(int slot, double now) {
+		double elapsed = now - time[slot];
+		if (elapsed == 0)
+			return x[slot];
+		double result = Kinematics.move(x[slot], vx[slot], elapsed);
+		return Double.isNaN(result) ? x[slot] : result;
+	}
+
+	/**
+	 * Return the y-coordinate of the collidable in the given slot at the given time.
+	 */
+	private double getY(int slot, double now) {
+		double elapsed = now - time[slot];
+		if (elapsed == 0)
+			return y[slot];
+		double result = Kinematics.move(y[slot], vy[slot], elapsed);
+		return Double.isNaN(result) ? y[slot] : result;
+	}
+
+	/**
+	 * Copy the positions at the given time, the velocities and the radii of the collidables of this store
+	 * into the given arrays, at the index of their slot.
+	 *
+	 * @pre		| x.length >= size() && y.length >= size() && vx.length >= size() && vy.length >= size() 
+	 * 			|	&& radius.length >= size()
+	 */
+	void copyColumns(double now, double[] x, double[] y, double[] vx, double[] vy, double[] radius) {
+		for (int slot = 0; slot < size; slot++) {
+			x[slot] = getX(slot, now);
+			y[slot] = getY(slot, now);
+		}
+		System.arraycopy(this.vx, 0, vx, 0, size);
+		System.arraycopy(this.vy, 0, vy, 0, size);
+		System.arraycopy(this.radius, 0, radius, 0, size);
+	}
+
+	/**
+	 * Replace the columns of this store by columns with the given number of slots.
+	 */
+	private void allocate(int capacity) {
+		Collidable[] handles = new Collidable[capacity];
+		double[] x = new double[capacity];
+		double[] y = new double[capacity];
+		double[] vx = new double[capacity];
+		double[] vy = new double[capacity];
+		double[] time = new double[capacity];
+		double[] radius = new double[capacity];
+		if (this.handles != null) {
+			System.arraycopy(this.handles, 0, handles, 0, size);
+			System.arraycopy(this.x, 0, x, 0, size);
+			System.arraycopy(this.y, 0, y, 0, size);
+			System.arraycopy(this.vx, 0, vx, 0, size);
+			System.arraycopy(this.vy, 0, vy, 0, size);
+			System.arraycopy(this.time, 0, time, 0, size);
+			System.arraycopy(this.radius, 0, radius, 0, size);
+		}
+		this.handles = handles;
+		this.x = x;
+		this.y = y;
+		this.vx = vx;
+		this.vy = vy;
+		this.time = time;
+		this.radius = radius;
+	}
+
+	/**
+	 * Variable referencing the collidable in each slot of this store.
+	 */
+	private Collidable[] handles;
+
+	/**
+	 * Variables registering, for each slot of this store, the position at the reference time,
+	 * the velocity, the reference time and the radius of its collidable.
+	 */
+	private double[] x, y, vx, vy, time, radius;
+}
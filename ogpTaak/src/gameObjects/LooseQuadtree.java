@@ -0,0 +1,373 @@
+package gameObjects;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import asteroids.Util;
+
+/**
+ * A class of loose quadtrees used by a world to find the collidables near a region of that world.
+ *
+ * Each collidable is stored in the deepest node whose cell contains its centre and whose cell is at least
+ * twice as large as its radius. The loose bounds of a node extend its cell by half its size on every side,
+ * so they contain every collidable stored in that node, and a query only descends into the nodes whose loose
+ * bounds meet the queried region.
+ *
+ * The collidables move with the time of their world without telling this tree. Instead of moving them through
+ * the tree at every step, the tree remembers when it was built and the highest speed of its collidables, and
+ * widens every query by the distance the collidables can have covered since. Collidables that change their
+ * course are stored anew on the next query; the whole tree is rebuilt once that distance grows larger than
+ * the collidables themselves.
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class LooseQuadtree {
+
+	/**
+	 * Initialize this new tree for the given world, without any collidables.
+	 *
+	 * @param 	world
+	 * 			The world whose collidables are stored in this tree.
+	 */
+	LooseQuadtree(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable referencing the world of this tree.
+	 */
+	private final World world;
+
+	/**
+	 * The maximum depth of a node of a tree.
+	 */
+	private static final int MAX_DEPTH = 16;
+
+	/**
+	 * Add the given collidable to this tree, at its current position.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to add.
+	 */
+	void add(Collidable collidable) {
+		if (root == null)
+			root = createRoot();
+		insert(collidable);
+	}
+
+	/**
+	 * Remove the given collidable from this tree.
+	 *
+	 * @param 	collidable
+	 * 			The collidable to remove.
+	 */
+	void remove(Collidable collidable) {
+		Entry entry = entries.remove(collidable);
+		if (entry != null) {
+			entry.node.remove(entry);
+			sumOfRadii -= entry.radius;
+		}
+		moved.remove(collidable);
+	}
+
+	/**
+	 * Register that the given collidable changed its course, so that it is stored anew before the next query.
+	 *
+	 * @param 	collidable
+	 * 			The collidable that changed its course.
+	 */
+	void invalidate(Collidable collidable) {
+		if (entries.containsKey(collidable))
+			moved.add(collidable);
+	}
+
+	/**
+	 * Add all collidables of this tree whose edge may lie within the given distance of the given point
+	 * to the given collection.
+	 * 	Every collidable whose edge lies within that distance is added; some collidables that lie further
+	 * 	away may be added as well.
+	 *
+	 * @param 	x
+	 * 			The x-coordinate of the point.
+	 * @param 	y
+	 * 			The y-coordinate of the point.
+	 * @param 	distance
+	 * 			The distance from the point.
+	 * @param 	candidates
+	 * 			The collection to which the collidables are added.
+	 */
+	void collectCandidates(double x, double y, double distance, Collection<Collidable> candidates) {
+		if (root == null)
+			return;
+		double drift = getDrift();
+		if (isOutdated(drift)) {
+			rebuild();
+			drift = 0;
+		}
+		else if (!moved.isEmpty()) {
+			for (Collidable collidable : moved) {
+				Entry entry = entries.remove(collidable);
+				entry.node.remove(entry);
+				sumOfRadii -= entry.radius;
+				insert(collidable);
+			}
+			moved.clear();
+		}
+		// Rounding errors are tolerated, as in the checks for overlap.
+		double reach = distance + drift + 2 * Util.EPSILON;
+		root.collect(x, y, reach, candidates);
+	}
+
+	/**
+	 * Return the distance each collidable of this tree can have covered since it was stored.
+	 */
+	private double getDrift() {
+		double elapsed = world.getTime() - this.buildTime;
+		if (elapsed <= 0 || this.maxSpeed == 0)
+			return 0;
+		return this.maxSpeed * elapsed;
+	}
+
+	/**
+	 * Check whether this tree must be rebuilt before it answers a query widened by the given drift.
+	 */
+	private boolean isOutdated(double drift) {
+		int size = entries.size();
+		if (size == 0)
+			return false;
+		return !(drift <= sumOfRadii / size) || (size > 2 * sizeAtBuild + 16) || (2 * moved.size() > size);
+	}
+
+	/**
+	 * Store all collidables of this tree anew at their current position, in a root that fits them.
+	 */
+	private void rebuild() {
+		List<Collidable> collidables = new ArrayList<Collidable>(entries.keySet());
+		entries.clear();
+		moved.clear();
+		sumOfRadii = 0;
+		maxSpeed = 0;
+		buildTime = world.getTime();
+		sizeAtBuild = collidables.size();
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		for (Collidable collidable : collidables) {
+			minX = Math.min(minX, collidable.getPositionX());
+			minY = Math.min(minY, collidable.getPositionY());
+			maxX = Math.max(maxX, collidable.getPositionX());
+			maxY = Math.max(maxY, collidable.getPositionY());
+		}
+		double half = Math.max(maxX - minX, maxY - minY) / 2;
+		if (half > 0 && half < Double.MAX_VALUE)
+			root = new Node(minX + (maxX - minX) / 2, minY + (maxY - minY) / 2, half, 0);
+		else
+			root = createRoot();
+		for (Collidable collidable : collidables)
+			insert(collidable);
+	}
+
+	/**
+	 * Return a new root covering the world of this tree.
+	 */
+	private Node createRoot() {
+		double half = Math.max(world.getWidth(), world.getHeight()) / 2;
+		return new Node(world.getWidth() / 2, world.getHeight() / 2, half, 0);
+	}
+
+	/**
+	 * Store the given collidable in this tree at its current position.
+	 */
+	private void insert(Collidable collidable) {
+		double x = collidable.getPositionX();
+		double y = collidable.getPositionY();
+		double radius = collidable.getRadius();
+		Node node = root;
+		while (node.depth < MAX_DEPTH && radius <= node.half / 2 && node.contains(x, y))
+			node = node.getChild(x, y);
+		Entry entry = new Entry(collidable, x, y, radius, node);
+		node.add(entry);
+		entries.put(collidable, entry);
+		sumOfRadii += radius;
+		double speed = Math.hypot(collidable.getVelocity().getXComponent(), collidable.getVelocity().getYComponent());
+		if (speed > maxSpeed)
+			maxSpeed = speed;
+		if (entries.size() == 1)
+			buildTime = world.getTime();
+	}
+
+	/**
+	 * Variable referencing the root of this tree, or null if no collidable was ever added.
+	 */
+	private Node root = null;
+
+	/**
+	 * Variable referencing the entry of each collidable of this tree.
+	 */
+	private final Map<Collidable, Entry> entries = new HashMap<Collidable, Entry>();
+
+	/**
+	 * Variable collecting the collidables of this tree that changed their course since they were stored.
+	 */
+	private final Set<Collidable> moved = new LinkedHashSet<Collidable>();
+
+	/**
+	 * Variable registering the time of the world of this tree at which this tree was last rebuilt.
+	 */
+	private double buildTime = 0;
+
+	/**
+	 * Variable registering the highest speed of a collidable stored since this tree was last rebuilt.
+	 */
+	private double maxSpeed = 0;
+
+	/**
+	 * Variable registering the sum of the radii of the collidables of this tree.
+	 */
+	private double sumOfRadii = 0;
+
+	/**
+	 * Variable registering the number of collidables of this tree when it was last rebuilt.
+	 */
+	private int sizeAtBuild = 0;
+
+	/**
+	 * A class of entries, registering where and in which node a collidable was stored.
+	 */
+	private static class Entry {
+
+		private Entry(Collidable collidable, double x, double y, double radius, Node node) {
+			this.collidable = collidable;
+			this.x = x;
+			this.y = y;
+			this.radius = radius;
+			this.node = node;
+		}
+
+		private final Collidable collidable;
+
+		private final double x;
+
+		private final double y;
+
+		private final double radius;
+
+		private final Node node;
+
+		/**
+		 * Variable registering the index of this entry in the entries of its node.
+		 */
+		private int index;
+	}
+
+	/**
+	 * A class of nodes, each covering a square cell.
+	 */
+	private static class Node {
+
+		private Node(double centreX, double centreY, double half, int depth) {
+			this.centreX = centreX;
+			this.centreY = centreY;
+			this.half = half;
+			this.depth = depth;
+		}
+
+		private final double centreX;
+
+		private final double centreY;
+
+		/**
+		 * Variable registering half the size of the cell of this node.
+		 */
+		private final double half;
+
+		private final int depth;
+
+		private final List<Entry> entries = new ArrayList<Entry>();
+
+		/**
+		 * Variable referencing the children of this node, or null if this node never had any.
+		 */
+		private Node[] children = null;
+
+		/**
+		 * Variable registering the number of entries of this node and all of its descendants.
+		 */
+		private int count = 0;
+
+		/**
+		 * Variable referencing the parent of this node, or null if this node is a root.
+		 */
+		private Node parent = null;
+
+		/**
+		 * Check whether the cell of this node contains the given point.
+		 */
+		private boolean contains(double x, double y) {
+			return Math.abs(x - centreX) <= half && Math.abs(y - centreY) <= half;
+		}
+
+		/**
+		 * Return the child of this node whose cell contains the given point, creating it if needed.
+		 */
+		private Node getChild(double x, double y) {
+			if (children == null)
+				children = new Node[4];
+			int quadrant = (x < centreX ? 0 : 1) + (y < centreY ? 0 : 2);
+			if (children[quadrant] == null) {
+				double quarter = half / 2;
+				Node child = new Node(centreX + (x < centreX ? -quarter : quarter),
+						centreY + (y < centreY ? -quarter : quarter), quarter, depth + 1);
+				child.parent = this;
+				children[quadrant] = child;
+			}
+			return children[quadrant];
+		}
+
+		private void add(Entry entry) {
+			entry.index = entries.size();
+			entries.add(entry);
+			for (Node node = this; node != null; node = node.parent)
+				node.count++;
+		}
+
+		private void remove(Entry entry) {
+			Entry last = entries.remove(entries.size() - 1);
+			if (last != entry) {
+				entries.set(entry.index, last);
+				last.index = entry.index;
+			}
+			for (Node node = this; node != null; node = node.parent)
+				node.count--;
+		}
+
+		/**
+		 * Add the collidables in the subtree of this node whose stored edge lies within the given reach
+		 * of the given point to the given collection.
+		 */
+		private void collect(double x, double y, double reach, Collection<Collidable> candidates) {
+			for (Entry entry : entries) {
+				double dx = entry.x - x;
+				double dy = entry.y - y;
+				double limit = reach + entry.radius;
+				if (dx * dx + dy * dy <= limit * limit)
+					candidates.add(entry.collidable);
+			}
+			if (children == null)
+				return;
+			for (Node child : children) {
+				// The loose bounds of the child reach twice its half size from its centre.
+				if (child != null && child.count > 0
+						&& Math.abs(x - child.centreX) <= 2 * child.half + reach
+						&& Math.abs(y - child.centreY) <= 2 * child.half + reach)
+					child.collect(x, y, reach, candidates);
+			}
+		}
+	}
+}
@@ -6,13 +6,15 @@
  */
 package gameObjects;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.util.HashSet;
 import java.util.Set;
 
 import model.Program;
 
+import support.Kinematics;
 import support.Vector;
-import exceptions.InvalidPositionException;
 import asteroids.Util;
 import be.kuleuven.cs.som.annotate.*;
 
@@ -161,11 +163,11 @@ public class Ship extends Collidable implements IShip{
 	public final double mass;
 	
 	/**
-	 * Returns the thruster amount of this ship.
+	 * Returns the thruster amount of the ships of the default configuration.
 	 */
-	@Basic
+	@Basic @Immutable
 	public static double getThrusterAmount() {
-		return thrusterAmount;
+		return THRUSTER_AMOUNT;
 	}
 	
 	/**
@@ -181,9 +183,9 @@ public class Ship extends Collidable implements IShip{
 	}
 	
 	/**
-	 * Variable registering the thruster amount of this ship.
+	 * Symbolic constant registering the thruster amount of the ships of the default configuration.
 	 */
-	private static double thrusterAmount = 1.1*Math.pow(10,21);
+	private static final double THRUSTER_AMOUNT = 1.1*Math.pow(10,21);
 	
 	/**
 	 * Check whether the thruster of this ship is enabled.
@@ -205,6 +207,17 @@ public class Ship extends Collidable implements IShip{
 		this.isThrusterEnabled = flag;
 	}
 	
+	/**
+	 * Check whether this ship is sleeping.
+	 * 
+	 * @return	A ship with an enabled thruster is never sleeping.
+	 * 			| result == super.isSleeping() && !isThrusterEnabled()
+	 */
+	@Override
+	public boolean isSleeping() {
+		return super.isSleeping() && !isThrusterEnabled();
+	}
+	
 	/**
 	 * Variable registering whether or not the thruster of this ship is enabled.
 	 */
@@ -214,10 +227,10 @@ public class Ship extends Collidable implements IShip{
 	 * Return the acceleration of this ship according to Newton's third law.
 	 * 
 	 * @return	The acceleration of this ship.
-	 * 			| result == getThrusterAmount()/getMass()/1000
+	 * 			| result == getConfig().getThrusterAmount()/getMass()/1000
 	 */
 	public double getAcceleration() {
-		return getThrusterAmount()/getMass()/1000;
+		return getConfig().getThrusterAmount()/getMass()/1000;
 	}
 
 	/**
@@ -245,11 +258,15 @@ public class Ship extends Collidable implements IShip{
 			throw new IllegalStateException();
 		if(isThrusterEnabled() && isValidTime(dt)) {
 			double amount = dt*getAcceleration();
-			Vector newVelocity = this.getVelocity().add((new Vector(Math.cos(getDirection()),Math.sin(getDirection())).scale(amount)));
-			if(Math.sqrt(newVelocity.dotProduct(newVelocity)) > this.getSpeedLimit())
-				setVelocity(newVelocity.scale((Double) (this.getSpeedLimit()/Math.sqrt(newVelocity.dotProduct(newVelocity)))));
+			double vx = this.getVelocity().getXComponent() + Math.cos(getDirection()) * amount;
+			double vy = this.getVelocity().getYComponent() + Math.sin(getDirection()) * amount;
+			double speed = Math.sqrt(vx*vx + vy*vy);
+			if (!Kinematics.isFinite(speed))
+				return;
+			if(speed > this.getSpeedLimit())
+				setVelocity(new Vector(vx * (this.getSpeedLimit()/speed), vy * (this.getSpeedLimit()/speed)));
 			else{
-				setVelocity(newVelocity);
+				setVelocity(new Vector(vx, vy));
 			}
 		}
 	}
@@ -300,26 +317,27 @@ public class Ship extends Collidable implements IShip{
 	 */	
 	public void fireBullet() {
 		if (canFireBullets()) {
-			Vector initialPosition = getPosition().add( new Vector((getRadius()+3)*Math.cos(getDirection()),(getRadius()+3)*Math.sin(getDirection())));
-			Vector initialVelocity = (new Vector(Math.cos(getDirection()),Math.sin(getDirection()))).scale(250);
-			try {
-				Bullet bullet = new Bullet(initialPosition,initialVelocity,3);
-				if(!bullet.overlapWithBoundary()) {
-					this.addAsBullet(bullet);
-					getWorld().addAsCollidable(bullet);
-					Set<Collidable> allCollidables = getWorld().getAllCollidables();
-					for(Collidable collidable : allCollidables) {
-						if(bullet.overlap(collidable) && !collidable.equals(bullet))
-							collidable.collide(bullet);
-					}
-				}
-			} catch (InvalidPositionException e) {
-				// do not fire
-			} catch (IllegalArgumentException e) {
-				// do not fire
-			} catch (IllegalStateException e) {
-				// do not fire
+			World world = getWorld();
+			double cos = Math.cos(getDirection());
+			double sin = Math.sin(getDirection());
+			double x = getPositionX() + (getRadius()+3)*cos;
+			double y = getPositionY() + (getRadius()+3)*sin;
+			// do not fire if the bullet would not fit within the world
+			if (!Util.fuzzyLessThanOrEqualTo(0.0, x-3) || !Util.fuzzyLessThanOrEqualTo(x+3, world.getWidth())
+					|| !Util.fuzzyLessThanOrEqualTo(0.0, y-3) || !Util.fuzzyLessThanOrEqualTo(y+3, world.getHeight()))
+				return;
+			Bullet bullet = world.createBullet(x,y,cos*250,sin*250,3);
+			this.addAsBullet(bullet);
+			// a bullet the world cannot accept is not fired, and goes back to the pool it was taken from
+			if (!world.canHaveAsCollidable(bullet)) {
+				bullet.terminate();
+				world.release(bullet);
+				return;
 			}
+			world.addAsCollidable(bullet);
+			for(Collidable collidable : world.getCollidablesOverlapping(bullet))
+				if (world.getCollisionFilter().canCollide(collidable, bullet))
+					collidable.collide(bullet);
 		}
 	}
 	
@@ -494,10 +512,44 @@ public class Ship extends Collidable implements IShip{
 	
 	/**
 	 * Executes the program of this ship.
+	 * 	The processor time spent executing it is added to the program time of this ship.
 	 */
 	public void executeProgram() {
-		program.execute();
+		long start = getCurrentThreadTime();
+		try {
+			program.execute();
+		} finally {
+			this.programTime += getCurrentThreadTime() - start;
+		}
 	}
+	
+	/**
+	 * Return the processor time, in nanoseconds, spent executing the programs of this ship so far.
+	 */
+	@Basic
+	public long getProgramTime() {
+		return this.programTime;
+	}
+	
+	/**
+	 * Variable registering the processor time, in nanoseconds, spent executing the programs of this ship.
+	 */
+	private long programTime = 0;
+	
+	/**
+	 * Return the processor time of the current thread in nanoseconds, 
+	 * or the elapsed time if the processor time of threads cannot be measured.
+	 */
+	static long getCurrentThreadTime() {
+		if (THREADS.isCurrentThreadCpuTimeSupported() && THREADS.isThreadCpuTimeEnabled())
+			return THREADS.getCurrentThreadCpuTime();
+		return System.nanoTime();
+	}
+	
+	/**
+	 * The bean measuring the processor time of threads.
+	 */
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
 
 	/**
 	 * This ship collides with the given collidable.
@@ -556,6 +608,16 @@ public class Ship extends Collidable implements IShip{
 		bullet.terminate();
 	}
 	
+	/**
+	 * Return the collision category of ships.
+	 * 
+	 * @return	| result == CollisionFilter.SHIP
+	 */
+	@Override
+	protected int getDefaultCategory() {
+		return CollisionFilter.SHIP;
+	}
+	
 	/**
 	 * Return a textual representation of this ship.
 	 * 
@@ -0,0 +1,153 @@
+package gameObjects;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import asteroids.Util;
+
+/**
+ * A class of integrators advancing a world in discrete sub-steps of fixed size, used by worlds that evolve approximately.
+ *
+ * Instead of predicting the exact time of every collision, the integrator moves all collidables over a whole
+ * sub-step at once and then resolves the contacts it finds: collidables that overlap while approaching each other,
+ * and collidables that overlap with the boundary while moving outwards. Collisions are therefore detected up to a
+ * sub-step late, and collidables that are fast and small enough may pass through each other.
+ *
+ * Each step is bounded by a budget of processor time, measured on the thread advancing the world. Once a step exceeds 
+ * its budget, the integrator doubles the size of its sub-steps for the rest of that step and for the steps that follow, 
+ * and logs the loss of accuracy; it does so at most once per step. Whenever a step takes less than a quarter of its 
+ * budget, the size of the sub-steps is halved again, down to the size configured for the world.
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+class SubstepIntegrator {
+
+	/**
+	 * Initialize this new integrator for the given world.
+	 *
+	 * @param 	world
+	 * 			The world to advance.
+	 */
+	SubstepIntegrator(World world) {
+		this.world = world;
+	}
+
+	/**
+	 * Variable referencing the world of this integrator.
+	 */
+	private final World world;
+
+	/**
+	 * The logger reporting the loss of accuracy of approximate steps.
+	 */
+	private static final Logger LOGGER = Logger.getLogger(SubstepIntegrator.class.getName());
+
+	/**
+	 * Return the size of the sub-steps this integrator currently takes.
+	 * 	This size is never smaller than the sub-step configured for the world of this integrator.
+	 */
+	double getSubstep() {
+		return Math.max(this.substep, world.getSubstep());
+	}
+
+	/**
+	 * Variable registering the size of the sub-steps this integrator currently takes.
+	 */
+	private double substep = 0;
+
+	/**
+	 * Advance the world of this integrator over the given time in sub-steps, and return the number of contacts resolved.
+	 *
+	 * @param 	dt
+	 * 			The time to advance over.
+	 * @pre		| Collidable.isValidTime(dt)
+	 */
+	int step(double dt) {
+		long start = Ship.getCurrentThreadTime();
+		long budget = world.getFrameBudget();
+		double size = getSubstep();
+		double remaining = dt;
+		int resolved = 0;
+		boolean raised = false;
+		while (!Util.fuzzyEquals(remaining, 0) && remaining > 0) {
+			double h = Math.min(size, remaining);
+			world.setTime(world.getTime() + h);
+			remaining -= h;
+			resolved += resolveContacts();
+			if (!raised && Ship.getCurrentThreadTime() - start > budget) {
+				size = raise(size, budget, remaining);
+				raised = true;
+			}
+		}
+		if (!raised && Ship.getCurrentThreadTime() - start < budget / 4 && size > world.getSubstep()) {
+			double lowered = Math.max(size / 2, world.getSubstep());
+			LOGGER.log(Level.FINE, "Frame budget met; sub-steps lowered from {0} s to {1} s", new Object[] {size, lowered});
+			size = lowered;
+		}
+		this.substep = size;
+		return resolved;
+	}
+
+	/**
+	 * Return the double of the given size of the sub-steps, and log that the given budget was exceeded
+	 * with the given time of the step left.
+	 */
+	private static double raise(double size, long budget, double remaining) {
+		double raised = 2 * size;
+		LOGGER.log(Level.WARNING, "Frame budget of {0} ns exceeded with {1} s of the step left; "
+				+ "sub-steps raised from {2} s to {3} s", new Object[] {budget, Math.max(remaining, 0), size, raised});
+		return raised;
+	}
+
+	/**
+	 * Resolve all contacts of the collidables of the world of this integrator with the boundary and with each other,
+	 * and return the number of contacts resolved.
+	 * 	The collidables are visited in the order of their serial numbers, so every run resolves the same contacts.
+	 */
+	private int resolveContacts() {
+		List<Collidable> collidables = new ArrayList<Collidable>(world.getAllCollidables());
+		Collections.sort(collidables, BY_SERIAL_NUMBER);
+		int resolved = 0;
+		for (Collidable collidable : collidables) {
+			if (collidable.getWorld() == world && !collidable.isSleeping() && collidable.isPenetratingBoundary()) {
+				collidable.bounceOfBoundary();
+				resolved++;
+			}
+		}
+		List<Collidable> others = new ArrayList<Collidable>();
+		for (Collidable collidable : collidables) {
+			if (collidable.getWorld() != world)
+				continue;
+			others.clear();
+			others.addAll(world.getCollidablesOverlapping(collidable));
+			Collections.sort(others, BY_SERIAL_NUMBER);
+			for (Collidable other : others) {
+				// each pair is resolved once, from the collidable with the lowest serial number
+				if (collidable.getWorld() != world || other.getWorld() != world
+						|| other.getSerialNumber() < collidable.getSerialNumber())
+					continue;
+				if (world.getCollisionFilter().canCollide(collidable, other) && collidable.isPenetrating(other)) {
+					collidable.collide(other);
+					resolved++;
+				}
+			}
+		}
+		return resolved;
+	}
+
+	/**
+	 * A comparator ordering collidables by their serial numbers.
+	 */
+	private static final Comparator<Collidable> BY_SERIAL_NUMBER = new Comparator<Collidable>() {
+		@Override
+		public int compare(Collidable one, Collidable other) {
+			return Long.compare(one.getSerialNumber(), other.getSerialNumber());
+		}
+	};
+}
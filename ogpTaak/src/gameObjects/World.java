@@ -6,6 +6,9 @@ import be.kuleuven.cs.som.annotate.*;
 import java.util.*;
 
 import support.Collision;
+import support.Kinematics;
+import support.RandomStreams;
+import support.Vector;
 
 /**
  * A class of virtual worlds, containing asteroids, ships and bullets.
@@ -22,33 +25,94 @@ import support.Collision;
  */
 public class World {
 	/**
-	 * Initialize this new world with given width, height and no collidables
+	 * Initialize this new world with given width, height, an arbitrary seed and no collidables
 	 * attached to it.
 	 * 
 	 * @param 	width
 	 *       	The width for this new world.
 	 * @param 	height
 	 *         	The height for this new world.
-	 * @post 	The new width of this new world is equal to the given width. 
+	 * @effect	| this(width, height, SEEDS.nextLong())
+	 */
+	@Raw
+	public World(double width, double height) {
+		this(width, height, SEEDS.nextLong());
+	}
+	
+	/**
+	 * Initialize this new world with given width, height, given seed and no collidables
+	 * attached to it.
+	 * 
+	 * @param 	width
+	 *       	The width for this new world.
+	 * @param 	height
+	 *         	The height for this new world.
+	 * @param	seed
+	 * 			The seed of the random source of this new world.
+	 * @effect	| this(width, height, seed, WorldConfig.getDefault())
+	 */
+	@Raw
+	public World(double width, double height, long seed) {
+		this(width, height, seed, WorldConfig.getDefault());
+	}
+	
+	/**
+	 * Initialize this new world with given width, height, given seed, given configuration and no collidables
+	 * attached to it.
+	 * 
+	 * @param 	width
+	 *       	The width for this new world.
+	 * @param 	height
+	 *         	The height for this new world.
+	 * @param	seed
+	 * 			The seed of the random source of this new world.
+	 * @param	config
+	 * 			The configuration of the rules of this new world.
+	 * @post	| (new this).getSeed() == seed
+	 * @post	| (new this).getConfig() == config
+	 * @post 	The new width of this new world is equal to the given width, 
+	 * 			or to the maximum width of the given configuration if the given width is not valid for it. 
 	 * 			| (new this).getWidth().equals(width)
-	 * @post 	The new height of this new world is equal to the given height. 
+	 * @post 	The new height of this new world is equal to the given height, 
+	 * 			or to the maximum height of the given configuration if the given height is not valid for it. 
 	 * 			| (new this).getHeight().equals(height)
 	 * @post 	No collidables are attached to this new world. 
 	 * 			| (new this).getNbCollidables() == 0
+	 * @throws	IllegalArgumentException
+	 * 			The given configuration is not effective.
+	 * 			| config == null
 	 */
 	@Raw
-	public World(double width, double height) {
-		if (isValidWidth(width))
+	public World(double width, double height, long seed, WorldConfig config) throws IllegalArgumentException {
+		if (config == null)
+			throw new IllegalArgumentException("Non-effective configuration!");
+		this.config = config;
+		this.seed = seed;
+		this.random = new Random(seed);
+		if (isValidDimension(width, config.getMaxWidth()))
 			this.width = width;
 		else {
-			this.width = maxWidth;
+			this.width = config.getMaxWidth();
 		}
-		if (isValidHeight(height))
+		if (isValidDimension(height, config.getMaxHeight()))
 			this.height = height;
 		else {
-			this.height = maxHeight;
+			this.height = config.getMaxHeight();
 		}
 	}
+	
+	/**
+	 * Return the configuration of the rules of this world, as captured when this world was created.
+	 */
+	@Basic @Immutable
+	public WorldConfig getConfig() {
+		return this.config;
+	}
+	
+	/**
+	 * Variable referencing the configuration of the rules of this world.
+	 */
+	private final WorldConfig config;
 
 	/**
 	 * Initialize this new world with all default values.
@@ -60,6 +124,39 @@ public class World {
 	public World() {
 		this(Double.MAX_VALUE, Double.MAX_VALUE);
 	}
+	
+	/**
+	 * Return the seed of the random source of this world.
+	 * 	Two worlds with the same seed to which the same collidables are added, and which evolve over the same
+	 * 	times, end up in exactly the same state.
+	 */
+	@Basic @Immutable
+	public long getSeed() {
+		return this.seed;
+	}
+	
+	/**
+	 * Variable registering the seed of the random source of this world.
+	 */
+	private final long seed;
+	
+	/**
+	 * Return a new random stream for a collidable of this world, split off the random source of this world.
+	 * 	The streams are split off in the order in which the collidables of this world first need one.
+	 */
+	Random createRandomStream() {
+		return RandomStreams.split(this.random);
+	}
+	
+	/**
+	 * Variable referencing the random source of this world.
+	 */
+	private final Random random;
+	
+	/**
+	 * The source of the seeds of worlds created without a seed.
+	 */
+	private static final Random SEEDS = new Random();
 
 	/**
 	 * Check whether this world is terminated.
@@ -107,43 +204,43 @@ public class World {
 	 * @param 	width
 	 *         	The width to check.
 	 * @return 	| result == !Double.isNaN(width) &&
-	 *         	|	Util.fuzzyLessThanOrEqualTo(width, maxWidth) && 0 < width
+	 *         	|	Util.fuzzyLessThanOrEqualTo(width, getMaxWidth()) && 0 < width
 	 */
 	public static boolean isValidWidth(double width) {
-		return !Double.isNaN(width)
-				&& Util.fuzzyLessThanOrEqualTo(width, maxWidth) && 0 < width;
+		return isValidDimension(width, MAX_WIDTH);
 	}
-
+	
 	/**
-	 * Variable registering the width of this world.
+	 * Check whether the given dimension is a valid dimension for a world with the given maximum dimension.
+	 * 
+	 * @return 	| result == !Double.isNaN(dimension) &&
+	 *         	|	Util.fuzzyLessThanOrEqualTo(dimension, maxDimension) && 0 < dimension
 	 */
-	private final double width;
+	private static boolean isValidDimension(double dimension, double maxDimension) {
+		return !Double.isNaN(dimension)
+				&& Util.fuzzyLessThanOrEqualTo(dimension, maxDimension) && 0 < dimension;
+	}
 
 	/**
-	 * Returns the maximum width for all worlds.
+	 * Variable registering the width of this world.
 	 */
-	public static double getMaxWidth() {
-		return maxWidth;
-	}
+	private final double width;
 
 	/**
+	 * Returns the maximum width for all worlds created without a configuration of their own.
+	 * 	Worlds with another maximum width are created with a configuration of their own.
 	 * 
-	 * @param	maxWidth
-	 *        	The new maximum width for all worlds
-	 * @post 	| (new World).maxWidth == maxWidth
+	 * @see		WorldConfig#withMaxDimensions(double, double)
 	 */
-	public static void setMaxWidth(double maxWidth) {
-		if (isValidMaxDimension(maxWidth))
-			World.maxWidth = maxWidth;
-		else {
-			World.maxWidth = Double.MAX_VALUE;
-		}
+	@Basic @Immutable
+	public static double getMaxWidth() {
+		return MAX_WIDTH;
 	}
 
 	/**
-	 * Variable registering the maximum width of any world.
+	 * Symbolic constant registering the maximum width of the worlds of the default configuration.
 	 */
-	private static double maxWidth = Double.MAX_VALUE;
+	private static final double MAX_WIDTH = Double.MAX_VALUE;
 
 	/**
 	 * Returns the height of this world.
@@ -159,12 +256,11 @@ public class World {
 	 * @param 	height
 	 *        	The height to check.
 	 * @return 	| result == !Double.isNaN(height) 
-	 * 			| 	&& Util.fuzzyLessThanOrEqualTo(width, maxHeight) 
+	 * 			| 	&& Util.fuzzyLessThanOrEqualTo(height, getMaxHeight()) 
 	 * 			| 	&& 0 < height
 	 */
 	public static boolean isValidHeight(double height) {
-		return !Double.isNaN(height)
-				&& Util.fuzzyLessThanOrEqualTo(height, maxHeight) && 0 < height;
+		return isValidDimension(height, MAX_HEIGHT);
 	}
 
 	/**
@@ -173,31 +269,20 @@ public class World {
 	private final double height;
 
 	/**
-	 * Returns the maximum height for all worlds.
-	 */
-	public static double getMaxHeight() {
-		return maxHeight;
-	}
-
-	/**
-	 * Set the maximum height for all worlds to the given height.
+	 * Returns the maximum height for all worlds created without a configuration of their own.
+	 * 	Worlds with another maximum height are created with a configuration of their own.
 	 * 
-	 * @param	maxHeight
-	 *        	The new maximum height for all worlds.
-	 * @post 	| (new World).maxHeight == maxHeight
+	 * @see		WorldConfig#withMaxDimensions(double, double)
 	 */
-	public static void setMaxHeight(double maxHeight) {
-		if (isValidMaxDimension(maxHeight))
-			World.maxHeight = maxHeight;
-		else {
-			World.maxHeight = Double.MAX_VALUE;
-		}
+	@Basic @Immutable
+	public static double getMaxHeight() {
+		return MAX_HEIGHT;
 	}
 
 	/**
-	 * Variable registering the maximum height of any world.
+	 * Symbolic constant registering the maximum height of the worlds of the default configuration.
 	 */
-	private static double maxHeight = Double.MAX_VALUE;
+	private static final double MAX_HEIGHT = Double.MAX_VALUE;
 
 	/**
 	 * Check whether the given maximum dimension is a valid maximum dimension
@@ -214,6 +299,7 @@ public class World {
 
 	/**
 	 * Return a set collecting all collidables associated with this world.
+	 * The collidables are iterated in the order in which they were added to this world.
 	 * 
 	 * @return 	The resulting set does not contain a null reference. 
 	 * 			|!result.contains(null)
@@ -223,7 +309,7 @@ public class World {
 	 *         	| 	(result.contains(collidable) == this.hasAsCollidable(collidable))
 	 */
 	public Set<Collidable> getAllCollidables() {
-		return new HashSet<Collidable>(this.collidables);
+		return new LinkedHashSet<Collidable>(this.collidables);
 	}
 
 	/**
@@ -234,11 +320,12 @@ public class World {
 	 * 			|	 hasAsCollidable(collidable)})
 	 */
 	public int getNbCollidables() {
-		return getAllCollidables().size();
+		return this.collidables.size();
 	}
 
 	/**
 	 * Return a set collecting all ships associated with this world.
+	 * The resulting set is a read-only view that reflects later changes to this world.
 	 * 
 	 * @return 	The resulting set does not contain a null reference. 
 	 * 			| !result.contains(null)
@@ -248,14 +335,7 @@ public class World {
 	 *         	| 	(result.contains(ship) == this.hasAsCollidable(ship))
 	 */
 	public Set<Ship> getAllShips() {
-		Set<Ship> ships = new HashSet<Ship>();
-		for (Collidable collidable : collidables)
-			try {
-				ships.add((Ship) collidable);
-			} catch (ClassCastException e) {
-				// ignore
-			}
-		return ships;
+		return Collections.unmodifiableSet(this.ships);
 	}
 
 	/**
@@ -266,11 +346,12 @@ public class World {
 	 * 			| 	collidable instanceof Ship})
 	 */
 	public int getNbShips() {
-		return getAllShips().size();
+		return this.ships.size();
 	}
 
 	/**
 	 * Return a set collecting all asteroids associated with this world.
+	 * The resulting set is a read-only view that reflects later changes to this world.
 	 * 
 	 * @return 	The resulting set does not contain a null reference. 
 	 * 			| !result.contains(null)
@@ -280,14 +361,7 @@ public class World {
 	 *        	| 	(result.contains(asteroid) == this.hasAsCollidable(asteroid))
 	 */
 	public Set<Asteroid> getAllAsteroids() {
-		Set<Asteroid> asteroids = new HashSet<Asteroid>();
-		for (Collidable collidable : collidables)
-			try {
-				asteroids.add((Asteroid) collidable);
-			} catch (ClassCastException e) {
-				// ignore
-			}
-		return asteroids;
+		return Collections.unmodifiableSet(this.asteroids);
 	}
 
 	/**
@@ -298,11 +372,12 @@ public class World {
 	 * 			| 	collidable instanceof Asteroid})
 	 */
 	public int getNbAsteroids() {
-		return getAllAsteroids().size();
+		return this.asteroids.size();
 	}
 
 	/**
 	 * Return a set collecting all bullets associated with this world.
+	 * The resulting set is a read-only view that reflects later changes to this world.
 	 * 
 	 * @return 	The resulting set does not contain a null reference. 
 	 * 			|!result.contains(null)
@@ -312,14 +387,7 @@ public class World {
 	 *         	|	(result.contains(bullet) == this.hasAsCollidable(bullet))
 	 */
 	public Set<Bullet> getAllBullets() {
-		Set<Bullet> bullets = new HashSet<Bullet>();
-		for (Collidable collidable : collidables)
-			try {
-				bullets.add((Bullet) collidable);
-			} catch (ClassCastException e) {
-				// ignore
-			}
-		return bullets;
+		return Collections.unmodifiableSet(this.bullets);
 	}
 
 	/**
@@ -330,7 +398,7 @@ public class World {
 	 * 			| 	collidable instanceof Bullet})
 	 */
 	public int getNbBullets() {
-		return getAllBullets().size();
+		return this.bullets.size();
 	}
 
 	/**
@@ -360,12 +428,15 @@ public class World {
 	 *  		True if the given collidable already references this world as its world.
 	 *  		| if collidable.getWorld() == this
 	 *  		|	then result == true
-	 *  		Otherwise, true if and only if this world and the collidable are not yet terminated and the
-	 *         	collidable fits this world's dimensions and does not overlap with the boundary of this world.
+	 *  		Otherwise, true if and only if this world and the collidable are not yet terminated, the
+	 *         	collidable fits this world's dimensions and does not overlap with the boundary of this world, 
+	 *         	and the collidable obeys the minimum radius and the speed of light of the configuration of this world.
 	 *         	| else result == 
 	 *         	|	!((this.isTerminated()) || collidable.isTerminated()) 	
 	 *         	| 		&& collidable.getRadius() < Math.min(getWidth()/2, getHeight()/2)
 	 *         	|		&& !collidable.overlapWithBoundary()
+	 *         	|		&& Util.fuzzyLessThanOrEqualTo(getConfig().getMinRadius(), collidable.getRadius())
+	 *         	|		&& Util.fuzzyLessThanOrEqualTo(collidable.getSpeed(), getConfig().getSpeedOfLight())
 	 */
 	@Raw
 	public boolean canHaveAsCollidable(Collidable collidable) {
@@ -373,15 +444,83 @@ public class World {
 			return false;
 		if(collidable.getWorld() == this)
 			return true;
-		for(Collidable entity : getAllCollidables()) {
-			if(collidable.overlap(entity))
-				return false;
-		}
+		if(!getCollidablesOverlapping(collidable).isEmpty())
+			return false;
+		return canHaveAsCollidableApart(collidable);
+	}
+	
+	/**
+	 * Check whether this world can have the given collidable as one of its collidables, 
+	 * leaving the other collidables of this world out of consideration.
+	 * 
+	 * @param 	collidable
+	 * 			The effective collidable to check.
+	 * @see		#canHaveAsCollidable(Collidable)
+	 */
+	private boolean canHaveAsCollidableApart(Collidable collidable) {
 		return  !((this.isTerminated()) || (collidable.isTerminated()) 
 				&& Util.fuzzyLessThanOrEqualTo(collidable.getRadius(),Math.min(getWidth() / 2, getHeight() / 2)))
-				&& !collidable.overlapWithBoundary();
+				&& !collidable.overlapWithBoundary()
+				&& Util.fuzzyLessThanOrEqualTo(getConfig().getMinRadius(), collidable.getRadius())
+				&& Util.fuzzyLessThanOrEqualTo(collidable.getSpeed(), getConfig().getSpeedOfLight());
 	}
 
+	/**
+	 * Return a set collecting all collidables of this world that overlap with the given collidable.
+	 * 
+	 * @param 	collidable
+	 * 			The collidable to check.
+	 * @return	| for each entity in getAllCollidables():
+	 * 			|	result.contains(entity) == (entity != collidable && collidable.overlap(entity))
+	 * @throws	IllegalArgumentException
+	 * 			The given collidable is not effective.
+	 * 			| collidable == null
+	 */
+	public Set<Collidable> getCollidablesOverlapping(Collidable collidable) throws IllegalArgumentException {
+		if (collidable == null)
+			throw new IllegalArgumentException("Non effective collidable!");
+		List<Collidable> candidates = new ArrayList<Collidable>();
+		this.regions.collectCandidates(collidable.getPositionX(), collidable.getPositionY(), collidable.getRadius(), candidates);
+		Set<Collidable> result = new HashSet<Collidable>();
+		for (Collidable entity : candidates)
+			if (entity != collidable && collidable.overlap(entity))
+				result.add(entity);
+		return result;
+	}
+	
+	/**
+	 * Return a set collecting all collidables of this world whose edge lies within the given distance 
+	 * of the given point.
+	 * 
+	 * @param 	point
+	 * 			The point to measure the distance from.
+	 * @param 	distance
+	 * 			The distance from the given point.
+	 * @return	| for each entity in getAllCollidables():
+	 * 			|	let
+	 * 			|		difference = entity.getPosition().subtract(point)
+	 * 			|	in
+	 * 			|		result.contains(entity) == Util.fuzzyLessThanOrEqualTo(
+	 * 			|			Math.sqrt(difference.dotProduct(difference)) - entity.getRadius(), distance)
+	 * @throws	IllegalArgumentException
+	 * 			The given point is not effective or the given distance is not a number.
+	 * 			| point == null || Double.isNaN(distance)
+	 */
+	public Set<Collidable> getCollidablesWithin(Vector point, double distance) throws IllegalArgumentException {
+		if (point == null || Double.isNaN(distance))
+			throw new IllegalArgumentException();
+		double x = point.getXComponent();
+		double y = point.getYComponent();
+		List<Collidable> candidates = new ArrayList<Collidable>();
+		this.regions.collectCandidates(x, y, Math.max(distance, 0), candidates);
+		Set<Collidable> result = new HashSet<Collidable>();
+		for (Collidable entity : candidates)
+			if (Util.fuzzyLessThanOrEqualTo(
+					Kinematics.getDistanceBetween(x, y, 0, entity.getPositionX(), entity.getPositionY(), entity.getRadius()), distance))
+				result.add(entity);
+		return result;
+	}
+	
 	/**
 	 * Check whether this world has proper collidables attached to it.
 	 * 
@@ -431,7 +570,104 @@ public class World {
 		if (collidable.getWorld() != null)
 			throw new IllegalArgumentException();
 		this.collidables.add(collidable);
+		addToIndex(collidable);
 		collidable.setWorld(this);
+		this.regions.add(collidable);
+		if (this.entityStore != null)
+			this.entityStore.add(collidable);
+		invalidate(collidable);
+	}
+
+	/**
+	 * Add all given collidables that this world can accept to the set of collidables attached to this world,
+	 * and return the collidables that were rejected.
+	 * 	The collidables are accepted in the order in which the given collection returns them, exactly as if each of
+	 * 	them were added on its own if this world can have it as one of its collidables. Instead of checking each 
+	 * 	collidable against all collidables accepted before, the given collidables are sorted along the x-axis once
+	 * 	and only those whose extents along that axis meet are checked for overlap.
+	 * 
+	 * @param 	collidables
+	 * 			The collidables to be added.
+	 * @post	Each given collidable that is not attached to any world, that this world can have as one of its 
+	 * 			collidables and that does not overlap with a given collidable accepted before, is attached to this world.
+	 * 			| for each collidable in collidables:
+	 * 			|	if (!result.contains(collidable))
+	 * 			|		then (new this).hasAsCollidable(collidable) && (new collidable).getWorld() == (new this)
+	 * @return	The given collidables that were not added, including the null reference if the given collection
+	 * 			contains it, in the order of the given collection.
+	 * @throws	IllegalArgumentException
+	 * 			The given collection is not effective.
+	 * 			| collidables == null
+	 */
+	public <T extends Collidable> Set<T> addAllCollidables(Collection<T> collidables) throws IllegalArgumentException {
+		if (collidables == null)
+			throw new IllegalArgumentException("Non effective collection!");
+		Set<T> rejected = new LinkedHashSet<T>();
+		final List<T> batch = new ArrayList<T>(collidables.size());
+		Set<T> distinct = new HashSet<T>();
+		for (T collidable : collidables) {
+			if (collidable != null && !distinct.add(collidable))
+				continue;
+			if (collidable == null || collidable.getWorld() != null 
+					|| !canHaveAsCollidableApart(collidable) || !getCollidablesOverlapping(collidable).isEmpty())
+				rejected.add(collidable);
+			else
+				batch.add(collidable);
+		}
+		// Sweep the batch along the x-axis, recording for each collidable the earlier collidables it overlaps with.
+		int n = batch.size();
+		final double[] minX = new double[n];
+		double[] maxX = new double[n];
+		Integer[] order = new Integer[n];
+		List<List<Integer>> conflicts = new ArrayList<List<Integer>>(n);
+		for (int i = 0; i < n; i++) {
+			T collidable = batch.get(i);
+			minX[i] = collidable.getPositionX() - collidable.getRadius();
+			maxX[i] = collidable.getPositionX() + collidable.getRadius();
+			order[i] = i;
+			conflicts.add(null);
+		}
+		Arrays.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer first, Integer second) {
+				return Double.compare(minX[first], minX[second]);
+			}
+		});
+		for (int a = 0; a < n; a++) {
+			int i = order[a];
+			for (int b = a + 1; b < n && Util.fuzzyLessThanOrEqualTo(minX[order[b]], maxX[i]); b++) {
+				int j = order[b];
+				if (batch.get(i).overlap(batch.get(j))) {
+					int later = Math.max(i, j);
+					if (conflicts.get(later) == null)
+						conflicts.set(later, new ArrayList<Integer>());
+					conflicts.get(later).add(Math.min(i, j));
+				}
+			}
+		}
+		boolean[] accepted = new boolean[n];
+		List<T> added = new ArrayList<T>(n);
+		for (int i = 0; i < n; i++) {
+			accepted[i] = true;
+			if (conflicts.get(i) != null)
+				for (int earlier : conflicts.get(i))
+					if (accepted[earlier])
+						accepted[i] = false;
+			if (accepted[i])
+				added.add(batch.get(i));
+			else
+				rejected.add(batch.get(i));
+		}
+		this.collidables.addAll(added);
+		for (T collidable : added) {
+			addToIndex(collidable);
+			collidable.setWorld(this);
+			this.regions.add(collidable);
+			if (this.entityStore != null)
+				this.entityStore.add(collidable);
+			invalidate(collidable);
+		}
+		return rejected;
 	}
 
 	/**
@@ -449,9 +685,45 @@ public class World {
 	 *       	| 	then (new collidable).getWorld() == null
 	 */
 	public void removeAsCollidable(Collidable collidable) {
-		if (hasAsCollidable(collidable))
+		if (hasAsCollidable(collidable)) {
 			this.collidables.remove(collidable);
+			removeFromIndex(collidable);
+			this.regions.remove(collidable);
+			if (this.entityStore != null)
+				this.entityStore.remove(collidable);
+		}
 		collidable.setWorld(null);
+		this.boundaryHeap.remove(collidable);
+	}
+
+	/**
+	 * Add the given collidable to the set of its own type.
+	 * 
+	 * @param 	collidable
+	 * 			The collidable to be indexed.
+	 */
+	private void addToIndex(Collidable collidable) {
+		if (collidable instanceof Ship)
+			this.ships.add((Ship) collidable);
+		else if (collidable instanceof Asteroid)
+			this.asteroids.add((Asteroid) collidable);
+		else if (collidable instanceof Bullet)
+			this.bullets.add((Bullet) collidable);
+	}
+
+	/**
+	 * Remove the given collidable from the set of its own type.
+	 * 
+	 * @param 	collidable
+	 * 			The collidable to be removed from the index.
+	 */
+	private void removeFromIndex(Collidable collidable) {
+		if (collidable instanceof Ship)
+			this.ships.remove(collidable);
+		else if (collidable instanceof Asteroid)
+			this.asteroids.remove(collidable);
+		else if (collidable instanceof Bullet)
+			this.bullets.remove(collidable);
 	}
 
 	/**
@@ -468,53 +740,287 @@ public class World {
 	 *        	| for each collidable in collidables: 	
 	 *        	| 	(collidable.getWorld() == this)
 	 */
-	private final Set<Collidable> collidables = new HashSet<Collidable>();
+	private final Set<Collidable> collidables = new LinkedHashSet<Collidable>();
+
+	/**
+	 * Sets collecting the ships, asteroids and bullets attached to this world.
+	 * 
+	 * @Invar 	Each of these sets contains exactly the collidables of its type in the set of collidables.
+	 * 			| for each collidable in collidables:
+	 * 			|	ships.contains(collidable) == (collidable instanceof Ship)
+	 * 			|	&& asteroids.contains(collidable) == (collidable instanceof Asteroid)
+	 * 			|	&& bullets.contains(collidable) == (collidable instanceof Bullet)
+	 */
+	private final Set<Ship> ships = new LinkedHashSet<Ship>();
+	private final Set<Asteroid> asteroids = new LinkedHashSet<Asteroid>();
+	private final Set<Bullet> bullets = new LinkedHashSet<Bullet>();
+	
+	/**
+	 * Variable referencing the loose quadtree in which the collidables of this world are looked up by region.
+	 */
+	private final LooseQuadtree regions = new LooseQuadtree(this);
 
 	/**
 	 * Advances the time in this world.
 	 * 
 	 * @param 	dt
 	 *          The amount of time to advance
-	 * @param 	collisionListener
-	 * @effect 	Evolve the world over the given time.
+	 * @effect 	Evolve the world over the given time, resolving all collisions that happen within that time in 
+	 * 			chronological order. The collisions are predicted once at the start, and only the collidables 
+	 * 			that changed their course while resolving a collision are predicted anew. The collidables are 
+	 * 			moved by advancing the time of this world; only the collidables involved in a collision are touched.
+	 * 			Collisions that happen at the same time up to rounding errors are resolved as one batch, ordered by
+	 * 			the serial numbers of their collidables; a collision of the batch that involves a collidable that
+	 * 			already changed its course in that batch is dropped and predicted anew after the batch.
 	 * 			| let 
-	 * 			| 	next = getNextCollision() 
+	 * 			| 	next = getNextCollision(dt) 
 	 * 			| in 
-	 * 			| 	if next != null && next.getTime() > dt 	
-	 * 			|		then for each collidable in collidables 
-	 * 			| 			collidable.move(dt) 
+	 * 			| 	if next != null && Util.fuzzyLessThanOrEqualTo(next.getTime(),dt) 	
+	 * 			|		then setTime(getTime() + next.getTime())
 	 * 			| 		resolveCollision(next) 	
 	 *         	| 		evolve(dt-next.getTime())
 	 * 			|	else 
+	 * 			| 		setTime(getTime() + dt)
 	 * 			| 		for each collidable in collidables
-	 *         	| 			collidable.move(next.getTime()) 
 	 *          |			if (collidable instanceof Ship) 
 	 * 			| 				then (Ship) collidable.thrust(dt) 
+	 * @effect	At most getMaxCollisionsPerStep() collisions are resolved in one step. If that limit is reached, 
+	 * 			or if more than twice the number of collidables batches in a row are resolved without the time 
+	 * 			advancing, the step ends at the time of the last resolved collision. The remaining collisions 
+	 * 			and the remaining time of the step are dropped, so the cost of a single step stays bounded; the
+	 * 			ships then thrust and the programs run only over the time this world actually advanced.
+	 * @effect	If this world evolves approximately, it advances in sub-steps of fixed size instead, resolving the contacts
+	 * 			found after each sub-step, within the frame budget of this world.
+	 * 			| if (isApproximate())
+	 * 			|	then the time of this world advances by dt in sub-steps of at least getSubstep()
+	 * @post	The number of collisions resolved and dropped in this step are registered.
+	 * 			| (new this).getNbProcessedCollisions() >= 0 && (new this).getNbDroppedCollisions() >= 0
+	 * @throws	IllegalArgumentException
+	 * 			The given time is not a valid time.
+	 * 			| !Collidable.isValidTime(dt)
 	 */
 	public void evolve(double dt) throws IllegalArgumentException{
+		if (!Collidable.isValidTime(dt))
+			throw new IllegalArgumentException();
+		this.nbProcessedCollisions = 0;
+		this.nbDroppedCollisions = 0;
+		if (this.pool != null)
+			this.pool.recycle();
 		if(!Util.fuzzyEquals(0.0, dt)) {
-			Collision next = null;
-			next = getNextCollision();
-			if (next != null
-					&& Util.fuzzyLessThanOrEqualTo(next.getTime(),dt)
-					 ) {
-				for(Collidable collidable : getAllCollidables()) {
-					collidable.move(next.getTime());
+			double advanced = dt;
+			if (isApproximate())
+				this.nbProcessedCollisions = this.substepIntegrator.step(dt);
+			else
+				advanced = evolveExactly(dt);
+			if (Util.fuzzyEquals(0.0, advanced))
+				return;
+			for(Collidable collidable : getAllCollidables()) {
+				if(collidable instanceof Ship) {
+					((Ship) collidable).thrust(advanced);
 				}
-				resolveCollision(next);
-				evolve(dt-next.getTime());
 			}
-			else {
-				for(Collidable collidable : getAllCollidables()) {
-					collidable.move(dt);
-					if(collidable instanceof Ship) {
-						((Ship) collidable).thrust(dt);
+			executeAllPrograms(advanced);
+		}
+	}
+	
+	/**
+	 * Advance this world over the given time, resolving all collisions at their exact time, and return
+	 * the time this world actually advanced over.
+	 * 	That time is less than the given time if the step was truncated.
+	 * 
+	 * @param 	dt
+	 * 			The time to advance over.
+	 * @see		#evolve(double)
+	 */
+	private double evolveExactly(double dt) {
+		CollisionQueue queue = new CollisionQueue(this, collisionGrid, boundaryHeap, dt);
+		double start = getTime();
+		double elapsed = 0;
+		int stalled = 0;
+		boolean truncated = false;
+		this.collisionQueue = queue;
+		try {
+			queue.predictAll(new ArrayList<Collidable>(this.collidables), isParallelPrediction());
+			CollisionEvent next = queue.poll();
+			while (next != null && !truncated) {
+				if (nbProcessedCollisions >= getMaxCollisionsPerStep() || stalled > 2 * getNbCollidables()) {
+					this.nbDroppedCollisions = 1 + queue.getNbPendingEvents();
+					queue.drop(next);
+					truncated = true;
+					break;
+				}
+				double time = Math.max(elapsed, next.getTime());
+				if (nbProcessedCollisions > 0 && Util.fuzzyEquals(time, elapsed))
+					stalled++;
+				else
+					stalled = 0;
+				elapsed = time;
+				setTime(start + elapsed);
+				List<CollisionEvent> batch = queue.pollSimultaneous(next);
+				for (int i = 0; i < batch.size(); i++) {
+					CollisionEvent event = batch.get(i);
+					if (nbProcessedCollisions >= getMaxCollisionsPerStep()) {
+						this.nbDroppedCollisions = batch.size() - i + queue.getNbPendingEvents();
+						for (CollisionEvent dropped : batch.subList(i, batch.size()))
+							queue.drop(dropped);
+						truncated = true;
+						break;
 					}
+					// an earlier collision of the batch may have changed the course of these collidables
+					if (!event.isValid(this))
+						continue;
+					resolveCollision(event.getFirst(), event.getSecond());
+					nbProcessedCollisions++;
+				}
+				if (!truncated) {
+					predictInvalidated(queue, elapsed);
+					next = queue.poll();
 				}
-				executeAllPrograms(dt);
 			}
+		} finally {
+			this.collisionQueue = null;
+			this.invalidated.clear();
+		}
+		if (truncated)
+			return elapsed;
+		setTime(start + Math.max(elapsed, dt));
+		return Math.max(elapsed, dt);
+	}
+	
+	/**
+	 * Return the maximum number of collisions this world resolves in a single step.
+	 */
+	@Basic
+	public int getMaxCollisionsPerStep() {
+		return this.maxCollisionsPerStep;
+	}
+	
+	/**
+	 * Check whether the given maximum number of collisions is a valid maximum for any world.
+	 * 
+	 * @param	maxCollisions
+	 * 			The maximum number of collisions to check.
+	 * @return	| result == maxCollisions > 0
+	 */
+	public static boolean isValidMaxCollisionsPerStep(int maxCollisions) {
+		return maxCollisions > 0;
+	}
+	
+	/**
+	 * Set the maximum number of collisions this world resolves in a single step to the given maximum.
+	 * 
+	 * @param	maxCollisions
+	 * 			The new maximum number of collisions per step.
+	 * @post	| (new this).getMaxCollisionsPerStep() == maxCollisions
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidMaxCollisionsPerStep(maxCollisions)
+	 */
+	public void setMaxCollisionsPerStep(int maxCollisions) throws IllegalArgumentException {
+		if (!isValidMaxCollisionsPerStep(maxCollisions))
+			throw new IllegalArgumentException();
+		this.maxCollisionsPerStep = maxCollisions;
+	}
+	
+	/**
+	 * Variable registering the maximum number of collisions this world resolves in a single step.
+	 */
+	private int maxCollisionsPerStep = 10000;
+	
+	/**
+	 * Return the number of collisions resolved in the last step of this world.
+	 */
+	@Basic
+	public int getNbProcessedCollisions() {
+		return this.nbProcessedCollisions;
+	}
+	
+	/**
+	 * Variable registering the number of collisions resolved in the last step of this world.
+	 */
+	private int nbProcessedCollisions = 0;
+	
+	/**
+	 * Return the number of collisions that were dropped unresolved in the last step of this world, 
+	 * because the step reached its maximum number of collisions or stopped making progress.
+	 * 	Dropped collisions are not carried over; the next step predicts the collisions of this world anew.
+	 */
+	@Basic
+	public int getNbDroppedCollisions() {
+		return this.nbDroppedCollisions;
+	}
+	
+	/**
+	 * Variable registering the number of collisions dropped unresolved in the last step of this world.
+	 */
+	private int nbDroppedCollisions = 0;
+	
+	/**
+	 * Return the current time of this world.
+	 * 	The collidables of this world derive their current position from this time, so advancing 
+	 * 	the time moves all collidables without touching them.
+	 */
+	@Basic @Raw
+	public double getTime() {
+		return this.time;
+	}
+	
+	/**
+	 * Set the current time of this world to the given time.
+	 * 
+	 * @param 	time
+	 * 			The new time for this world.
+	 * @post	| (new this).getTime() == time
+	 */
+	void setTime(double time) {
+		this.time = time;
+	}
+	
+	/**
+	 * Variable registering the current time of this world.
+	 */
+	private double time = 0;
+	
+	/**
+	 * Predict the collisions of all collidables that changed their course since the last prediction anew.
+	 * 
+	 * @param	queue
+	 * 			The queue to schedule the collisions in.
+	 * @param	now
+	 * 			The time elapsed since the start of the current step.
+	 */
+	private void predictInvalidated(CollisionQueue queue, double now) {
+		while (!invalidated.isEmpty()) {
+			List<Collidable> changed = new ArrayList<Collidable>(invalidated);
+			invalidated.clear();
+			for (Collidable collidable : changed)
+				queue.predictAgain(collidable, now);
 		}
 	}
+	
+	/**
+	 * Register that the given collidable of this world changed its course.
+	 * 
+	 * @param 	collidable
+	 * 			The collidable that changed its course.
+	 * @post	If this world is evolving, the collisions of the given collidable will be predicted anew.
+	 */
+	void invalidate(Collidable collidable) {
+		this.boundaryHeap.invalidate(collidable);
+		this.regions.invalidate(collidable);
+		if (this.collisionQueue != null)
+			this.invalidated.add(collidable);
+	}
+	
+	/**
+	 * Variable referencing the collision queue of the step this world is evolving over, 
+	 * or null if this world is not evolving.
+	 */
+	private CollisionQueue collisionQueue = null;
+	
+	/**
+	 * Set collecting the collidables that changed their course since the last prediction.
+	 */
+	private final Set<Collidable> invalidated = new LinkedHashSet<Collidable>();
 
 	/**
 	 * Execute all programs associated with all ships associated with this world.
@@ -546,20 +1052,20 @@ public class World {
 	}
 
 	/**
-	 * Resolve the given collision.
+	 * Resolve the collision of the given collidables.
 	 * 
-	 * @param 	next
-	 *          The given collision.
+	 * @param 	first
+	 *          The first collidable involved in the collision.
+	 * @param 	second
+	 *          The second collidable involved in the collision, or null for a collision with the boundary.
 	 * @effect 	If there is only one collidable involved with the collision, then
 	 *         	this this collidable bounces of the boundary. 
-	 *         	| if (next.getSecond() == null) 	
-	 *         	| 	then next.getFirst().bounceOfBoundary() 
+	 *         	| if (second == null) 	
+	 *         	| 	then first.bounceOfBoundary() 
 	 *         	Else the two collidables collide. 
-	 *         	| else next.getFirst().collides(next.getSecond())
+	 *         	| else first.collide(second)
 	 */
-	private void resolveCollision(Collision next) {
-		Collidable first = next.getFirst();
-		Collidable second = next.getSecond();
+	private void resolveCollision(Collidable first, Collidable second) {
 		if (second == null) {
 			first.bounceOfBoundary();
 		} else {
@@ -581,22 +1087,26 @@ public class World {
 	 *  		|	result == null
 	 */
 	public Collision getNextCollisionWithBoundary() {
-		ArrayList<Collidable> collidables = new ArrayList<Collidable>(getAllCollidables());
-		Collidable first = null;
-		double time = Double.MAX_VALUE;
-		
-		for (int i = 0; i < getNbCollidables(); i++) { 
-			if (!collidables.get(i).overlapWithBoundary()) {
-				double collisionWithBoundary = collidables.get(i).getTimeToCollisionWithBoundary();
-				if(!Util.fuzzyLessThanOrEqualTo(time,collisionWithBoundary)) {
-					time = collisionWithBoundary;
-					first = collidables.get(i);
-				}
-			}
-		}
-		if (time == Double.MAX_VALUE)
+		this.boundaryHeap.recheckOutside();
+		CollisionEvent next = this.boundaryHeap.peek();
+		if (next == null)
 			return null;
-		return new Collision(first,null,time);
+		return new Collision(next.getFirst(), null, next.getTime() - getTime());
+	}
+	
+	/**
+	 * Variable referencing the heap of the times at which the collidables of this world hit its boundary.
+	 * The heap is updated whenever a collidable of this world changes its course.
+	 */
+	private final BoundaryHeap boundaryHeap = new BoundaryHeap(this);
+	
+	/**
+	 * Return the number of entries the heap of the boundary collisions of this world holds, including the ones
+	 * that are no longer valid but were not yet cleaned up.
+	 * 	This number is a diagnostic; it stays proportional to the number of collidables of this world.
+	 */
+	public int getBoundaryHeapSize() {
+		return this.boundaryHeap.size();
 	}
 	
 	/**
@@ -614,28 +1124,376 @@ public class World {
 	 *  		|	result == null
 	 */
 	public Collision getNextCollisionWithOther() {
-		ArrayList<Collidable> collidables = new ArrayList<Collidable>(getAllCollidables());
-		Collidable first = null;
-		Collidable second = null;
-		double time = Double.MAX_VALUE;
-		
-		for (int i = 0; i < getNbCollidables(); i++) { 
-			for (int j = i + 1; j < getNbCollidables(); j++) { 
-				if (!collidables.get(i).overlap(collidables.get(j))) {
-					double collisionWithOther = collidables.get(i).getTimeToCollision(collidables.get(j));
-					if(!Util.fuzzyLessThanOrEqualTo(time,collisionWithOther) && Util.fuzzyLessThanOrEqualTo(0,collisionWithOther)) {
-						time = collisionWithOther;
-						first = collidables.get(i);
-						second = collidables.get(j);
-					}
-				}	
-			}			
+		return getNextCollisionWithOther(Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 *  Returns the first collision of two collidables that will happen in this world within the given time horizon.
+	 *  
+	 *  @param	timeHorizon
+	 *  		The amount of time to look ahead.
+	 *  @return	If the first collision of two collidables happens within the given time horizon, that collision.
+	 *  		| if (getNextCollisionWithOther() != null 
+	 *  		|		&& Util.fuzzyLessThanOrEqualTo(getNextCollisionWithOther().getTime(),timeHorizon))
+	 *  		| 	then result.getTime() == getNextCollisionWithOther().getTime()
+	 *  		Otherwise, null.
+	 *  		| else result == null
+	 *  @note	For a finite time horizon, only the pairs of collidables of which the boxes swept over the time horizon
+	 *  		share a cell of the collision grid of this world are examined. For an infinite time horizon,
+	 *  		all pairs are examined.
+	 */
+	public Collision getNextCollisionWithOther(double timeHorizon) {
+		if (Double.isNaN(timeHorizon) || Double.isInfinite(timeHorizon) || timeHorizon < 0)
+			return getNextCollisionWithOtherBruteForce();
+		collisionGrid.rebuild(new ArrayList<Collidable>(this.collidables), timeHorizon);
+		return collisionGrid.getNextCollision(timeHorizon);
+	}
+	
+	/**
+	 *  Returns the first collision of two collidables that will happen in this world, examining every pair of collidables.
+	 *  
+	 *  @see	getNextCollisionWithOther()
+	 */
+	private Collision getNextCollisionWithOtherBruteForce() {
+		return newCollisionSearch().getNextCollisionWithOther();
+	}
+	
+	/**
+	 * Return a new search over a snapshot of all collidables of this world. If this world has an entity store,
+	 * the snapshot follows the slots of that store and the search runs over its columns.
+	 */
+	private CollisionSearch newCollisionSearch() {
+		if (this.entityStore != null)
+			return new CollisionSearch(this.entityStore.toArray(), this.entityStore, getCollisionFilter(), getTime(), isParallelSearch());
+		Collidable[] snapshot = this.collidables.toArray(new Collidable[this.collidables.size()]);
+		return new CollisionSearch(snapshot, null, getCollisionFilter(), getTime(), isParallelSearch());
+	}
+	
+	/**
+	 * Check whether this world keeps the state of its collidables in an entity store.
+	 * 	An entity store holds the positions, velocities and radii of the collidables in primitive arrays, 
+	 * 	over which the search for the next collision runs.
+	 */
+	public boolean isEntityStoreEnabled() {
+		return this.entityStore != null;
+	}
+	
+	/**
+	 * Set whether this world keeps the state of its collidables in an entity store.
+	 * 
+	 * @param	enabled
+	 * 			Whether this world keeps an entity store.
+	 * @post	| (new this).isEntityStoreEnabled() == enabled
+	 */
+	public void setEntityStoreEnabled(boolean enabled) {
+		if (enabled == isEntityStoreEnabled())
+			return;
+		if (enabled) {
+			EntityStore store = new EntityStore();
+			for (Collidable collidable : this.collidables)
+				store.add(collidable);
+			this.entityStore = store;
 		}
-		if (time == Double.MAX_VALUE)
-			return null;
-		return new Collision(first,second,time);
+		else {
+			for (Collidable collidable : this.collidables)
+				this.entityStore.remove(collidable);
+			this.entityStore = null;
+		}
+	}
+	
+	/**
+	 * Return the entity store of this world, or null if this world does not keep an entity store.
+	 */
+	@Basic
+	EntityStore getEntityStore() {
+		return this.entityStore;
+	}
+	
+	/**
+	 * Variable referencing the entity store of this world, or null if this world does not keep an entity store.
+	 */
+	private EntityStore entityStore = null;
+	
+	/**
+	 * Check whether this world searches its next collision over all collidables in parallel.
+	 * Worlds with fewer collidables than a fixed threshold are always searched sequentially.
+	 * The parallel search returns the same collision as the sequential search.
+	 */
+	@Basic
+	public boolean isParallelSearch() {
+		return this.parallelSearch;
+	}
+	
+	/**
+	 * Set whether this world searches its next collision over all collidables in parallel.
+	 * 
+	 * @param	parallelSearch
+	 * 			Whether the search is done in parallel.
+	 * @post	| (new this).isParallelSearch() == parallelSearch
+	 */
+	public void setParallelSearch(boolean parallelSearch) {
+		this.parallelSearch = parallelSearch;
 	}
 	
+	/**
+	 * Variable registering whether this world searches its next collision in parallel.
+	 */
+	private boolean parallelSearch = false;
+	
+	/**
+	 * Check whether this world predicts the collisions at the start of each exact step in parallel.
+	 * 	The collisions are then predicted in spatial regions of the world, one fork/join task per region. 
+	 * 	Only the prediction is parallel: the world still advances on a single thread and resolves its collisions 
+	 * 	one after another. Worlds with fewer collidables than a fixed threshold are always predicted sequentially. 
+	 * 	A world evolves exactly the same way whether it predicts in parallel or not.
+	 */
+	@Basic
+	public boolean isParallelPrediction() {
+		return this.parallelPrediction;
+	}
+	
+	/**
+	 * Set whether this world predicts the collisions at the start of each exact step in parallel.
+	 * 
+	 * @param	parallelPrediction
+	 * 			Whether the collisions are predicted in parallel.
+	 * @post	| (new this).isParallelPrediction() == parallelPrediction
+	 */
+	public void setParallelPrediction(boolean parallelPrediction) {
+		this.parallelPrediction = parallelPrediction;
+	}
+	
+	/**
+	 * Variable registering whether this world predicts the collisions at the start of each exact step in parallel.
+	 */
+	private boolean parallelPrediction = false;
+	
+	/**
+	 * Check whether this world pools its bullets and asteroids.
+	 * 	A world that pools its bullets and asteroids reuses the ones that were terminated during its earlier steps 
+	 * 	for the bullets its ships fire and the asteroids that split, instead of creating new ones. A reused bullet or 
+	 * 	asteroid is the same object as the terminated one, so references to terminated bullets and asteroids of such 
+	 * 	a world must not be kept beyond the step in which they were terminated. By default, worlds do not pool.
+	 */
+	@Basic
+	public boolean isPooling() {
+		return this.pool != null;
+	}
+	
+	/**
+	 * Set whether this world pools its bullets and asteroids.
+	 * 
+	 * @param	pooling
+	 * 			Whether this world pools its bullets and asteroids.
+	 * @post	| (new this).isPooling() == pooling
+	 */
+	public void setPooling(boolean pooling) {
+		if (!pooling)
+			this.pool = null;
+		else if (this.pool == null)
+			this.pool = new CollidablePool(CollidablePool.DEFAULT_CAPACITY);
+	}
+	
+	/**
+	 * Return the pool of bullets and asteroids of this world, or null if this world does not pool.
+	 */
+	@Basic
+	CollidablePool getPool() {
+		return this.pool;
+	}
+	
+	/**
+	 * Variable referencing the pool of bullets and asteroids of this world, or null if this world does not pool.
+	 */
+	private CollidablePool pool = null;
+	
+	/**
+	 * Return a bullet, not yet attached to any world or ship, with the given coordinates, velocity components and radius.
+	 * 
+	 * @return	| if (isPooling())
+	 * 			|	then result == getPool().obtainBullet(x, y, xVelocity, yVelocity, radius)
+	 * 			|	else result.equals(new Bullet(new Vector(x,y), new Vector(xVelocity,yVelocity), radius))
+	 */
+	Bullet createBullet(double x, double y, double xVelocity, double yVelocity, double radius) throws IllegalArgumentException {
+		if (this.pool == null)
+			return new Bullet(new Vector(x,y), new Vector(xVelocity,yVelocity), radius);
+		return this.pool.obtainBullet(x, y, xVelocity, yVelocity, radius);
+	}
+	
+	/**
+	 * Return an asteroid, not yet attached to any world, with the given coordinates, velocity components and radius,
+	 * and with a random stream seeded with the given seed.
+	 * 
+	 * @return	| if (isPooling())
+	 * 			|	then result == getPool().obtainAsteroid(x, y, xVelocity, yVelocity, radius, seed)
+	 * 			|	else result.equals(new Asteroid(new Vector(x,y), new Vector(xVelocity,yVelocity), radius, new Random(seed)))
+	 */
+	Asteroid createAsteroid(double x, double y, double xVelocity, double yVelocity, double radius, long seed) throws IllegalArgumentException {
+		if (this.pool == null)
+			return new Asteroid(x, y, xVelocity, yVelocity, radius, seed);
+		return this.pool.obtainAsteroid(x, y, xVelocity, yVelocity, radius, seed);
+	}
+	
+	/**
+	 * Return the number of bullets and asteroids the pool of this world had to create because it had no free one 
+	 * to reuse, or zero if this world does not pool.
+	 * 	Once a world fires and splits at a steady rate, this number stops growing.
+	 */
+	public long getNbPoolAllocations() {
+		return (this.pool == null) ? 0 : this.pool.getNbCreated();
+	}
+	
+	/**
+	 * Release the given collidable, terminated while it was attached to this world or terminated because this world 
+	 * could not accept it, to the pool of this world.
+	 * 
+	 * @effect	| if (isPooling())
+	 * 			|	then getPool().release(collidable)
+	 */
+	void release(Collidable collidable) {
+		if (this.pool != null)
+			this.pool.release(collidable);
+	}
+	
+	/**
+	 * Check whether this world evolves approximately.
+	 * 	A world that evolves approximately advances in sub-steps of fixed size and only resolves collisions once the 
+	 * 	collidables involved overlap, trading accuracy for a bounded frame time. By default, worlds evolve exactly.
+	 */
+	@Basic
+	public boolean isApproximate() {
+		return this.approximate;
+	}
+	
+	/**
+	 * Let this world evolve approximately or exactly, according to the given flag.
+	 * 
+	 * @param 	approximate
+	 * 			Whether this world evolves approximately.
+	 * @post	| (new this).isApproximate() == approximate
+	 */
+	public void setApproximate(boolean approximate) {
+		this.approximate = approximate;
+	}
+	
+	/**
+	 * Variable registering whether this world evolves approximately.
+	 */
+	private boolean approximate = false;
+	
+	/**
+	 * Return the size of the sub-steps this world takes when it evolves approximately, unless it exceeds its frame budget.
+	 */
+	@Basic
+	public double getSubstep() {
+		return this.substep;
+	}
+	
+	/**
+	 * Return the size of the sub-steps this world currently takes when it evolves approximately.
+	 * 	This size grows beyond getSubstep() as long as the steps of this world exceed its frame budget.
+	 * 
+	 * @return	| Util.fuzzyLessThanOrEqualTo(getSubstep(), result)
+	 */
+	public double getCurrentSubstep() {
+		return this.substepIntegrator.getSubstep();
+	}
+	
+	/**
+	 * Check whether the given size is a valid size for the sub-steps of a world.
+	 * 
+	 * @param 	substep
+	 * 			The size to check.
+	 * @return	| result == Collidable.isValidTime(substep) && substep > 0
+	 */
+	public static boolean isValidSubstep(double substep) {
+		return Collidable.isValidTime(substep) && substep > 0;
+	}
+	
+	/**
+	 * Set the size of the sub-steps this world takes when it evolves approximately to the given size.
+	 * 
+	 * @param 	substep
+	 * 			The new size of the sub-steps.
+	 * @post	| (new this).getSubstep() == substep
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidSubstep(substep)
+	 */
+	public void setSubstep(double substep) throws IllegalArgumentException {
+		if (!isValidSubstep(substep))
+			throw new IllegalArgumentException("Invalid sub-step!");
+		this.substep = substep;
+	}
+	
+	/**
+	 * Variable registering the size of the sub-steps this world takes when it evolves approximately.
+	 */
+	private double substep = 0.01;
+	
+	/**
+	 * Return the processor time, in nanoseconds, a single step of this world may take when it evolves approximately.
+	 */
+	@Basic
+	public long getFrameBudget() {
+		return this.frameBudget;
+	}
+	
+	/**
+	 * Check whether the given budget is a valid frame budget for a world.
+	 * 
+	 * @param 	frameBudget
+	 * 			The budget to check, in nanoseconds.
+	 * @return	| result == (frameBudget > 0)
+	 */
+	public static boolean isValidFrameBudget(long frameBudget) {
+		return frameBudget > 0;
+	}
+	
+	/**
+	 * Set the frame budget of this world to the given budget.
+	 * 
+	 * @param 	frameBudget
+	 * 			The new budget, in nanoseconds.
+	 * @post	| (new this).getFrameBudget() == frameBudget
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidFrameBudget(frameBudget)
+	 */
+	public void setFrameBudget(long frameBudget) throws IllegalArgumentException {
+		if (!isValidFrameBudget(frameBudget))
+			throw new IllegalArgumentException("Invalid frame budget!");
+		this.frameBudget = frameBudget;
+	}
+	
+	/**
+	 * Variable registering the frame budget of this world, in nanoseconds.
+	 */
+	private long frameBudget = 16000000L;
+	
+	/**
+	 * Variable referencing the integrator advancing this world when it evolves approximately.
+	 */
+	private final SubstepIntegrator substepIntegrator = new SubstepIntegrator(this);
+	
+	/**
+	 * Return the collision filter of this world.
+	 * 	Collidables of this world only collide with each other if this filter lets them.
+	 */
+	@Basic @Immutable
+	public CollisionFilter getCollisionFilter() {
+		return this.collisionFilter;
+	}
+	
+	/**
+	 * Variable referencing the collision filter of this world.
+	 */
+	private final CollisionFilter collisionFilter = new CollisionFilter();
+	
+	/**
+	 * Variable referencing the collision grid used by this world as the broad phase
+	 * of its collision detection. The grid is kept alive while this world evolves.
+	 */
+	private final CollisionGrid collisionGrid = new CollisionGrid(collisionFilter);
+	
 	/**
 	 *  Returns the first collision that will happen in this world.
 	 *  
@@ -654,8 +1512,29 @@ public class World {
 	 *  		| else getNextCollisionWithOther()
 	 */
 	public Collision getNextCollision() {
+		return getNextCollision(Double.POSITIVE_INFINITY);
+	}
+	
+	/**
+	 *  Returns the first collision that will happen in this world within the given time horizon.
+	 *  
+	 *  @param	timeHorizon
+	 *  		The amount of time to look ahead.
+	 *  @effect	The first collision with the boundary and the first collision of two collidables within the
+	 *  		given time horizon are combined as in getNextCollision().
+	 *  		| let 
+	 *  		|	nextWithBoundary = getNextCollisionWithBoundary()
+	 *  		|	nextWithOther = getNextCollisionWithOther(timeHorizon)
+	 *  		| in
+	 *  		|	if (nextWithOther == null) then result == nextWithBoundary
+	 *  		|	else if (nextWithBoundary == null) then result == nextWithOther
+	 *  		|	else if (Util.fuzzyLessThanOrEqualTo(nextWithBoundary.getTime(),nextWithOther.getTime()))
+	 *  		|		then result == nextWithBoundary
+	 *  		|	else result == nextWithOther
+	 */
+	public Collision getNextCollision(double timeHorizon) {
 		Collision nextWithBoundary = getNextCollisionWithBoundary();
-		Collision nextWithOther = getNextCollisionWithOther();
+		Collision nextWithOther = getNextCollisionWithOther(timeHorizon);
 		
 		if (nextWithBoundary == null && nextWithOther == null)
 			return null;
@@ -0,0 +1,268 @@
+package gameObjects;
+
+import java.util.Arrays;
+
+import be.kuleuven.cs.som.annotate.*;
+
+/**
+ * A class of immutable configurations of the rules of a world: the maximum dimensions of the world,
+ * the minimum radius and the speed of light of its collidables, the densities of its bullets and
+ * asteroids and the thruster amount of its ships.
+ *
+ * A world captures its configuration when it is created, and its collidables consult that configuration
+ * through their world. Since a configuration never changes, many worlds with different rules can evolve
+ * concurrently. Collidables that are not attached to a world follow the default configuration, made up
+ * of the constants of World, Collidable, Bullet, Asteroid and Ship. Other rules are set by deriving a
+ * configuration from the default one through its with-methods, not by changing static values.
+ *
+ * @invar	| World.isValidMaxDimension(getMaxWidth()) && World.isValidMaxDimension(getMaxHeight())
+ * @invar	| Collidable.isValidMinRadius(getMinRadius())
+ * @invar	| isValidSpeedOfLight(getSpeedOfLight())
+ * @invar	| isValidDensity(getBulletDensity()) && isValidDensity(getAsteroidDensity())
+ * @invar	| Ship.isValidThrusterAmount(getThrusterAmount())
+ *
+ * @version	1.0
+ * @author	Martijn Bousse, Wout Vekemans
+ *
+ */
+@Value
+public class WorldConfig {
+
+	/**
+	 * Initialize this new configuration with the given rules.
+	 *
+	 * @param 	maxWidth
+	 * 			The maximum width of a world.
+	 * @param 	maxHeight
+	 * 			The maximum height of a world.
+	 * @param 	minRadius
+	 * 			The minimum radius of a collidable.
+	 * @param 	speedOfLight
+	 * 			The speed no collidable can exceed.
+	 * @param 	bulletDensity
+	 * 			The density of bullets.
+	 * @param 	asteroidDensity
+	 * 			The density of asteroids.
+	 * @param 	thrusterAmount
+	 * 			The thruster amount of ships.
+	 * @post	| (new this).getMaxWidth() == maxWidth && (new this).getMaxHeight() == maxHeight
+	 * 			|	&& (new this).getMinRadius() == minRadius && (new this).getSpeedOfLight() == speedOfLight
+	 * 			|	&& (new this).getBulletDensity() == bulletDensity && (new this).getAsteroidDensity() == asteroidDensity
+	 * 			|	&& (new this).getThrusterAmount() == thrusterAmount
+	 * @throws	IllegalArgumentException
+	 * 			One of the given rules is not valid.
+	 * 			| !World.isValidMaxDimension(maxWidth) || !World.isValidMaxDimension(maxHeight)
+	 * 			|	|| !Collidable.isValidMinRadius(minRadius) || !isValidSpeedOfLight(speedOfLight)
+	 * 			|	|| !isValidDensity(bulletDensity) || !isValidDensity(asteroidDensity)
+	 * 			|	|| !Ship.isValidThrusterAmount(thrusterAmount)
+	 */
+	public WorldConfig(double maxWidth, double maxHeight, double minRadius, double speedOfLight, 
+			double bulletDensity, double asteroidDensity, double thrusterAmount) throws IllegalArgumentException {
+		if (!World.isValidMaxDimension(maxWidth) || !World.isValidMaxDimension(maxHeight))
+			throw new IllegalArgumentException("Invalid maximum dimension!");
+		if (!Collidable.isValidMinRadius(minRadius))
+			throw new IllegalArgumentException("Invalid minimum radius!");
+		if (!isValidSpeedOfLight(speedOfLight))
+			throw new IllegalArgumentException("Invalid speed of light!");
+		if (!isValidDensity(bulletDensity) || !isValidDensity(asteroidDensity))
+			throw new IllegalArgumentException("Invalid density!");
+		if (!Ship.isValidThrusterAmount(thrusterAmount))
+			throw new IllegalArgumentException("Invalid thruster amount!");
+		this.maxWidth = maxWidth;
+		this.maxHeight = maxHeight;
+		this.minRadius = minRadius;
+		this.speedOfLight = speedOfLight;
+		this.bulletDensity = bulletDensity;
+		this.asteroidDensity = asteroidDensity;
+		this.thrusterAmount = thrusterAmount;
+	}
+
+	/**
+	 * Return the default configuration, made up of the constants of the classes of this package.
+	 *
+	 * @return	| result.equals(new WorldConfig(World.getMaxWidth(), World.getMaxHeight(), Collidable.getMinRadius(),
+	 * 			|	Collidable.SPEED_OF_LIGHT, Bullet.DENSITY, Asteroid.DENSITY, Ship.getThrusterAmount()))
+	 */
+	@Immutable
+	public static WorldConfig getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Symbolic constant referencing the default configuration, shared by all worlds created without one of their own.
+	 */
+	private static final WorldConfig DEFAULT = new WorldConfig(World.getMaxWidth(), World.getMaxHeight(),
+			Collidable.getMinRadius(), Collidable.SPEED_OF_LIGHT, Bullet.DENSITY, Asteroid.DENSITY, Ship.getThrusterAmount());
+
+	/**
+	 * Check whether the given speed is a valid speed of light for any configuration.
+	 *
+	 * @param 	speedOfLight
+	 * 			The speed to check.
+	 * @return	| result == !Double.isNaN(speedOfLight) && speedOfLight > 0
+	 */
+	public static boolean isValidSpeedOfLight(double speedOfLight) {
+		return !Double.isNaN(speedOfLight) && speedOfLight > 0;
+	}
+
+	/**
+	 * Check whether the given density is a valid density for any configuration.
+	 *
+	 * @param 	density
+	 * 			The density to check.
+	 * @return	| result == !Double.isNaN(density) && !Double.isInfinite(density) && density > 0
+	 */
+	public static boolean isValidDensity(double density) {
+		return !Double.isNaN(density) && !Double.isInfinite(density) && density > 0;
+	}
+
+	/**
+	 * Return the maximum width of a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getMaxWidth() {
+		return this.maxWidth;
+	}
+
+	/**
+	 * Return the maximum height of a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getMaxHeight() {
+		return this.maxHeight;
+	}
+
+	/**
+	 * Return the minimum radius of a collidable in a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getMinRadius() {
+		return this.minRadius;
+	}
+
+	/**
+	 * Return the speed no collidable in a world with this configuration can exceed.
+	 */
+	@Basic @Immutable
+	public double getSpeedOfLight() {
+		return this.speedOfLight;
+	}
+
+	/**
+	 * Return the density of bullets in a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getBulletDensity() {
+		return this.bulletDensity;
+	}
+
+	/**
+	 * Return the density of asteroids in a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getAsteroidDensity() {
+		return this.asteroidDensity;
+	}
+
+	/**
+	 * Return the thruster amount of ships in a world with this configuration.
+	 */
+	@Basic @Immutable
+	public double getThrusterAmount() {
+		return this.thrusterAmount;
+	}
+
+	/**
+	 * Variables registering the rules of this configuration.
+	 */
+	private final double maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount;
+
+	/**
+	 * Return a configuration equal to this configuration, except for its maximum dimensions.
+	 *
+	 * @return	| result.equals(new WorldConfig(maxWidth, maxHeight, getMinRadius(), getSpeedOfLight(),
+	 * 			|	getBulletDensity(), getAsteroidDensity(), getThrusterAmount()))
+	 * @throws	IllegalArgumentException
+	 * 			| !World.isValidMaxDimension(maxWidth) || !World.isValidMaxDimension(maxHeight)
+	 */
+	public WorldConfig withMaxDimensions(double maxWidth, double maxHeight) throws IllegalArgumentException {
+		return new WorldConfig(maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount);
+	}
+
+	/**
+	 * Return a configuration equal to this configuration, except for its minimum radius.
+	 *
+	 * @return	| result.equals(new WorldConfig(getMaxWidth(), getMaxHeight(), minRadius, getSpeedOfLight(),
+	 * 			|	getBulletDensity(), getAsteroidDensity(), getThrusterAmount()))
+	 * @throws	IllegalArgumentException
+	 * 			| !Collidable.isValidMinRadius(minRadius)
+	 */
+	public WorldConfig withMinRadius(double minRadius) throws IllegalArgumentException {
+		return new WorldConfig(maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount);
+	}
+
+	/**
+	 * Return a configuration equal to this configuration, except for its speed of light.
+	 *
+	 * @return	| result.equals(new WorldConfig(getMaxWidth(), getMaxHeight(), getMinRadius(), speedOfLight,
+	 * 			|	getBulletDensity(), getAsteroidDensity(), getThrusterAmount()))
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidSpeedOfLight(speedOfLight)
+	 */
+	public WorldConfig withSpeedOfLight(double speedOfLight) throws IllegalArgumentException {
+		return new WorldConfig(maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount);
+	}
+
+	/**
+	 * Return a configuration equal to this configuration, except for its densities.
+	 *
+	 * @return	| result.equals(new WorldConfig(getMaxWidth(), getMaxHeight(), getMinRadius(), getSpeedOfLight(),
+	 * 			|	bulletDensity, asteroidDensity, getThrusterAmount()))
+	 * @throws	IllegalArgumentException
+	 * 			| !isValidDensity(bulletDensity) || !isValidDensity(asteroidDensity)
+	 */
+	public WorldConfig withDensities(double bulletDensity, double asteroidDensity) throws IllegalArgumentException {
+		return new WorldConfig(maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount);
+	}
+
+	/**
+	 * Return a configuration equal to this configuration, except for its thruster amount.
+	 *
+	 * @return	| result.equals(new WorldConfig(getMaxWidth(), getMaxHeight(), getMinRadius(), getSpeedOfLight(),
+	 * 			|	getBulletDensity(), getAsteroidDensity(), thrusterAmount))
+	 * @throws	IllegalArgumentException
+	 * 			| !Ship.isValidThrusterAmount(thrusterAmount)
+	 */
+	public WorldConfig withThrusterAmount(double thrusterAmount) throws IllegalArgumentException {
+		return new WorldConfig(maxWidth, maxHeight, minRadius, speedOfLight, bulletDensity, asteroidDensity, thrusterAmount);
+	}
+
+	/**
+	 * Check whether this configuration is equal to the given object.
+	 *
+	 * @return	| result == (other instanceof WorldConfig)
+	 * 			|	&& all rules of this configuration are equal to the rules of the given configuration
+	 */
+	@Override
+	public boolean equals(Object other) {
+		if (this == other)
+			return true;
+		if (!(other instanceof WorldConfig))
+			return false;
+		WorldConfig config = (WorldConfig) other;
+		return Double.compare(maxWidth, config.maxWidth) == 0 && Double.compare(maxHeight, config.maxHeight) == 0
+				&& Double.compare(minRadius, config.minRadius) == 0 && Double.compare(speedOfLight, config.speedOfLight) == 0
+				&& Double.compare(bulletDensity, config.bulletDensity) == 0 
+				&& Double.compare(asteroidDensity, config.asteroidDensity) == 0
+				&& Double.compare(thrusterAmount, config.thrusterAmount) == 0;
+	}
+
+	/**
+	 * Return the hash code of this configuration.
+	 */
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(new double[] {maxWidth, maxHeight, minRadius, speedOfLight, 
+				bulletDensity, asteroidDensity, thrusterAmount});
+	}
+}
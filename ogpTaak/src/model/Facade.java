@@ -8,6 +8,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collection;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -72,6 +73,15 @@ public class Facade implements IFacade<World, Ship, Asteroid, Bullet, Program> {
 		}
 	}
 
+	@Override
+	public Set<Asteroid> addAsteroids(World world, Collection<Asteroid> asteroids) throws ModelException {
+		try {
+			return world.addAllCollidables(asteroids);
+		} catch (IllegalArgumentException e) {
+			throw new ModelException(e);
+		}
+	}
+
 	@Override
 	public void removeShip(World world, Ship ship) {
 		world.removeAsCollidable(ship);
@@ -82,6 +92,11 @@ public class Facade implements IFacade<World, Ship, Asteroid, Bullet, Program> {
 		world.removeAsCollidable(asteroid);
 	}
 
+	@Override
+	public void setWorldPooling(World world, boolean pooling) {
+		world.setPooling(pooling);
+	}
+
 	@Override
 	public void evolve(World world, double dt,
 			CollisionListener collisionListener) throws ModelException {
@@ -149,6 +164,11 @@ public class Facade implements IFacade<World, Ship, Asteroid, Bullet, Program> {
 		return ship.getMass();
 	}
 
+	@Override
+	public long getShipProgramTime(Ship ship) {
+		return ship.getProgramTime();
+	}
+
 	@Override
 	public World getShipWorld(Ship ship) {
 		return ship.getWorld();
@@ -193,7 +213,11 @@ public class Facade implements IFacade<World, Ship, Asteroid, Bullet, Program> {
 	@Override
 	public Asteroid createAsteroid(double x, double y, double xVelocity,
 			double yVelocity, double radius, Random random) throws ModelException {
-		return createAsteroid(x,y,xVelocity,yVelocity,radius);
+		try {
+			return new Asteroid(new Vector(x, y), new Vector(xVelocity, yVelocity), radius, random);
+		} catch (IllegalArgumentException e) {
+			throw new ModelException(e);
+		}
 	}
 
 	@Override
@@ -5,6 +5,7 @@ import gameObjects.World;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.Collection;
 import java.util.Random;
 import java.util.Set;
 
@@ -97,6 +98,12 @@ public interface IFacade<World, Ship, Asteroid, Bullet, Program> {
    */
   public void addAsteroid(World world, Asteroid asteroid);
 
+  /**
+   * Add all <code>asteroids</code> that fit in <code>world</code> to
+   * <code>world</code> at once, and return the asteroids that were rejected.
+   */
+  public Set<Asteroid> addAsteroids(World world, Collection<Asteroid> asteroids);
+
   /**
    * Remove <code>ship</code> from <code>world</code>.
    */
@@ -107,6 +114,13 @@ public interface IFacade<World, Ship, Asteroid, Bullet, Program> {
    */
   public void removeAsteroid(World world, Asteroid asteroid);
 
+  /**
+   * Let <code>world</code> reuse its terminated bullets and asteroids or not.
+   * References to terminated bullets and asteroids of a world that reuses them
+   * must not be kept beyond the call to evolve in which they were terminated.
+   */
+  public void setWorldPooling(World world, boolean pooling);
+
   /**
    * Advance <code>world</code> by <code>dt<code> seconds. 
    * 
@@ -169,6 +183,11 @@ public interface IFacade<World, Ship, Asteroid, Bullet, Program> {
    */
   public double getShipMass(Ship ship);
 
+  /**
+   * Return the processor time, in nanoseconds, spent executing the programs of <code>ship</code>.
+   */
+  public long getShipProgramTime(Ship ship);
+
   /**
    * Return the world of <code>ship</code>.
    */
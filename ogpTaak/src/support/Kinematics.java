@@ -0,0 +1,190 @@
+package support;
+
+import asteroids.Util;
+
+/**
+ * A class collecting the kinematics of round bodies moving at constant velocity, over primitive components.
+ *
+ * These methods compute the same results as the corresponding computations over vectors, without allocating
+ * any vectors. Instead of checking every intermediate operation for overflow, each method checks its result
+ * once: a method that would overflow returns a result that is not finite, or the result documented for it.
+ *
+ * @author	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public final class Kinematics {
+
+	/**
+	 * This class only collects static methods.
+	 */
+	private Kinematics() {
+	}
+
+	/**
+	 * Check whether the given number is finite.
+	 *
+	 * @param 	number
+	 * 			The number to check.
+	 * @return	| result == !Double.isNaN(number) && !Double.isInfinite(number)
+	 */
+	public static boolean isFinite(double number) {
+		return !Double.isNaN(number) && !Double.isInfinite(number);
+	}
+
+	/**
+	 * Return the coordinate of a body with the given coordinate and speed along the same axis, after the given time.
+	 *
+	 * @param 	coordinate
+	 * 			The coordinate of the body.
+	 * @param 	speed
+	 * 			The component of the velocity of the body along the axis of the coordinate.
+	 * @param 	dt
+	 * 			The time to move the body.
+	 * @return	| result == coordinate + speed * dt
+	 */
+	public static double move(double coordinate, double speed, double dt) {
+		return coordinate + speed * dt;
+	}
+
+	/**
+	 * Return the distance between the edges of the given bodies.
+	 *
+	 * @return	The distance between the centres minus both radii, or positive infinity if that distance overflows.
+	 * 			| let
+	 * 			|	distance = Math.sqrt((x2-x1)*(x2-x1) + (y2-y1)*(y2-y1)) - radius1 - radius2
+	 * 			| in
+	 * 			|	if (Double.isInfinite(distance)) then result == Double.POSITIVE_INFINITY
+	 * 			|	else result == distance
+	 */
+	public static double getDistanceBetween(double x1, double y1, double radius1, double x2, double y2, double radius2) {
+		double dx = x1 - x2;
+		double dy = y1 - y2;
+		double distance = Math.sqrt(dx * dx + dy * dy) - radius1 - radius2;
+		if (Double.isInfinite(distance))
+			return Double.POSITIVE_INFINITY;
+		return distance;
+	}
+
+	/**
+	 * Check whether bodies with the given speeds can close the given gap between their edges within the given time.
+	 * 	This is a cheap bound: bodies for which it fails cannot collide within the given time, whatever their
+	 * 	directions, so their time to collision need not be computed.
+	 *
+	 * @param 	gap
+	 * 			The distance between the edges of both bodies.
+	 * @param 	speed1
+	 * 			The speed of the first body.
+	 * @param 	speed2
+	 * 			The speed of the second body.
+	 * @param 	dt
+	 * 			The time within which the bodies must collide.
+	 * @return	Collisions that happen within the given time up to rounding errors are never ruled out.
+	 * 			| result == (gap <= (speed1 + speed2) * (dt + Util.EPSILON) + Util.EPSILON)
+	 */
+	public static boolean canCloseGap(double gap, double speed1, double speed2, double dt) {
+		return gap <= (speed1 + speed2) * (dt + Util.EPSILON) + Util.EPSILON;
+	}
+
+	/**
+	 * Return when the given bodies collide, if ever.
+	 *
+	 * @return	The time after which the distance between the edges of both bodies becomes zero, or positive infinity
+	 * 			if the bodies do not approach each other, never touch, or if the computation overflows.
+	 */
+	public static double getTimeToCollision(double x1, double y1, double vx1, double vy1, double radius1,
+			double x2, double y2, double vx2, double vy2, double radius2) {
+		double drx = x2 - x1;
+		double dry = y2 - y1;
+		double dvx = vx2 - vx1;
+		double dvy = vy2 - vy1;
+		double sigma = radius1 + radius2;
+		double dotProductR = drx * drx + dry * dry;
+		double dotProductV = dvx * dvx + dvy * dvy;
+		double dotProductVR = dvx * drx + dvy * dry;
+		double d = (dotProductVR * dotProductVR) - dotProductV * (dotProductR - (sigma * sigma));
+		if (!isFinite(d) || !isFinite(dotProductVR))
+			return Double.POSITIVE_INFINITY;
+		if (Util.fuzzyLessThanOrEqualTo(0, dotProductVR))
+			return Double.POSITIVE_INFINITY;
+		if (Util.fuzzyLessThanOrEqualTo(d, 0))
+			return Double.POSITIVE_INFINITY;
+		return -(dotProductVR + Math.sqrt(d)) / dotProductV;
+	}
+
+	/**
+	 * The number of pairs the batch kernel evaluates per block.
+	 */
+	public static final int BLOCK_SIZE = 4;
+
+	/**
+	 * Compute when the given body collides with each of the bodies in the given range of the given columns.
+	 * 	The pairs are evaluated in blocks of BLOCK_SIZE pairs, without branches inside a block, so that the
+	 * 	compiler can keep a whole block in registers; the pairs beyond the last whole block are evaluated one by one.
+	 *
+	 * @param	skipOverlapping
+	 * 			Whether bodies that overlap with the given body yield positive infinity.
+	 * @param	times
+	 * 			The array receiving the time to collision of each pair, at the index of the other body.
+	 * @post	| for each k in from..to-1:
+	 * 			|	if (skipOverlapping && !Util.fuzzyLessThanOrEqualTo(0, 
+	 * 			|			Math.sqrt((xs[k]-x)*(xs[k]-x) + (ys[k]-y)*(ys[k]-y)) - radius - radii[k]))
+	 * 			|		then times[k] == Double.POSITIVE_INFINITY
+	 * 			|	else times[k] == getTimeToCollision(x, y, vx, vy, radius, xs[k], ys[k], vxs[k], vys[k], radii[k])
+	 */
+	public static void getTimesToCollision(double x, double y, double vx, double vy, double radius,
+			double[] xs, double[] ys, double[] vxs, double[] vys, double[] radii, int from, int to,
+			boolean skipOverlapping, double[] times) {
+		int k = from;
+		for (; k + BLOCK_SIZE <= to; k += BLOCK_SIZE)
+			for (int lane = k; lane < k + BLOCK_SIZE; lane++)
+				times[lane] = getTimeToCollisionBranchFree(x, y, vx, vy, radius, 
+						xs[lane], ys[lane], vxs[lane], vys[lane], radii[lane], skipOverlapping);
+		for (; k < to; k++)
+			times[k] = getTimeToCollisionBranchFree(x, y, vx, vy, radius, xs[k], ys[k], vxs[k], vys[k], radii[k], skipOverlapping);
+	}
+
+	/**
+	 * Return when the given bodies collide, with the rules of getTimeToCollision expressed as selections instead of branches.
+	 *
+	 * @see	#getTimesToCollision(double, double, double, double, double, double[], double[], double[], double[], double[], int, int, boolean, double[])
+	 */
+	private static double getTimeToCollisionBranchFree(double x1, double y1, double vx1, double vy1, double radius1,
+			double x2, double y2, double vx2, double vy2, double radius2, boolean skipOverlapping) {
+		double drx = x2 - x1;
+		double dry = y2 - y1;
+		double dvx = vx2 - vx1;
+		double dvy = vy2 - vy1;
+		double sigma = radius1 + radius2;
+		double dotProductR = drx * drx + dry * dry;
+		double dotProductV = dvx * dvx + dvy * dvy;
+		double dotProductVR = dvx * drx + dvy * dry;
+		double d = (dotProductVR * dotProductVR) - dotProductV * (dotProductR - (sigma * sigma));
+		double time = -(dotProductVR + Math.sqrt(d)) / dotProductV;
+		// the same rules as getTimeToCollision: d and dotProductVR must be finite, the bodies must approach each
+		// other by more than rounding errors and d must be positive by more than rounding errors
+		boolean collides = (d - d == 0) && (dotProductVR - dotProductVR == 0)
+				&& dotProductVR < -Util.EPSILON && d > Util.EPSILON;
+		boolean overlapping = skipOverlapping && (Math.sqrt(dotProductR) - radius1 - radius2 < -Util.EPSILON);
+		return (collides && !overlapping) ? time : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Return the factor by which the difference of the positions of the given bodies is scaled to obtain
+	 * the impulse of their elastic collision.
+	 * 	The first body gains the impulse divided by its mass, the second body loses the impulse divided by its mass.
+	 *
+	 * @return	| let
+	 * 			|	sigma = radius1 + radius2
+	 * 			|	j = 2*mass1*mass2*((x2-x1)*(vx2-vx1) + (y2-y1)*(vy2-vy1)) / (sigma*(mass1+mass2))
+	 * 			| in
+	 * 			|	result == j / sigma
+	 */
+	public static double getImpulseFactor(double x1, double y1, double vx1, double vy1, double radius1, double mass1,
+			double x2, double y2, double vx2, double vy2, double radius2, double mass2) {
+		double sigma = radius1 + radius2;
+		double dotProductRV = (x2 - x1) * (vx2 - vx1) + (y2 - y1) * (vy2 - vy1);
+		double j = 2 * mass1 * mass2 * dotProductRV / (sigma * (mass1 + mass2));
+		return j / sigma;
+	}
+}
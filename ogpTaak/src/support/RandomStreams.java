@@ -0,0 +1,61 @@
+package support;
+
+import java.util.Random;
+
+/**
+ * A class collecting the splitting of random sources into independent streams.
+ *
+ * A stream split off a source only depends on the state of that source, so a run that splits its streams in the
+ * same order from a source with the same seed draws the very same numbers. The seed of a new stream is scrambled
+ * with the finalizer of SplitMix64, so that consecutive streams of the same source are not correlated.
+ *
+ * @author	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public final class RandomStreams {
+
+	/**
+	 * This class only collects static methods.
+	 */
+	private RandomStreams() {
+	}
+
+	/**
+	 * Return a new random stream split off the given source.
+	 *
+	 * @param 	source
+	 * 			The source to split the new stream off.
+	 * @effect	| source.nextLong()
+	 * @return	| result == new Random(mix(source.nextLong()))
+	 */
+	public static Random split(Random source) {
+		return new Random(nextSeed(source));
+	}
+
+	/**
+	 * Return the seed of a new random stream split off the given source, for a stream that is reseeded in place
+	 * rather than created anew.
+	 *
+	 * @param 	source
+	 * 			The source to split the seed off.
+	 * @effect	| source.nextLong()
+	 * @return	| new Random(result) draws the same numbers as split(source) would have drawn
+	 */
+	public static long nextSeed(Random source) {
+		return mix(source.nextLong());
+	}
+
+	/**
+	 * Return the given seed, scrambled by the finalizer of SplitMix64.
+	 *
+	 * @param 	seed
+	 * 			The seed to scramble.
+	 */
+	public static long mix(long seed) {
+		long z = seed + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
@@ -233,6 +233,20 @@ public class CollidableTest {
 		assertTrue(collidable1.getVelocity().equals(new Vector(5,10)));
 	}
 	
+	@Test
+	public void testIsSleeping() {
+		assertFalse(collidable1.isSleeping());
+		assertTrue(collidable8.isSleeping());
+	}
+	
+	@Test
+	public void testIsSleeping_ThrusterCase() {
+		Ship ship = (Ship) mutableCollidable11;
+		assertTrue(ship.isSleeping());
+		ship.setThrusterEnabled(true);
+		assertFalse(ship.isSleeping());
+	}
+	
 	@Test
 	public void testSetSpeedLimit_LegalCase() {
 		mutableCollidable1.setSpeedLimit(150);
@@ -293,10 +307,10 @@ public class CollidableTest {
 	// minRadius
 	
 	@Test
-	public void testSetMinRadius_LegalCase() {
-		Collidable.setMinRadius(25);
-		assertEquals(Collidable.getMinRadius(),25,Util.EPSILON);
-		Collidable.setMinRadius(0);
+	public void testWithMinRadius_LegalCase() {
+		World world = new World(1000, 1000, 0, WorldConfig.getDefault().withMinRadius(25));
+		assertEquals(world.getConfig().getMinRadius(),25,Util.EPSILON);
+		assertEquals(Collidable.getMinRadius(),0,Util.EPSILON);
 	}
 	
 	@Test
@@ -305,8 +319,8 @@ public class CollidableTest {
 	}
 	
 	@Test(expected=IllegalArgumentException.class)
-	public void testSetMinRadius_IllegalCase() {
-		Collidable.setMinRadius(-25);
+	public void testWithMinRadius_IllegalCase() {
+		WorldConfig.getDefault().withMinRadius(-25);
 	}
 	
 	@Test 
@@ -343,8 +357,12 @@ public class CollidableTest {
 	
 	@Test
 	public void testCanHaveAsRadius_IllegalCase() {
-		Collidable.setMinRadius(1);
-		assertFalse(collidable1.canHaveAsRadius(0));
+		// collidables in a world obey the minimum radius captured by that world
+		World world = new World(1000, 1000, 0, WorldConfig.getDefault().withMinRadius(1));
+		Asteroid asteroid = new Asteroid(new Vector(500,500), new Vector(0,0), 10);
+		world.addAsCollidable(asteroid);
+		assertTrue(collidable1.canHaveAsRadius(0));
+		assertFalse(asteroid.canHaveAsRadius(0));
 	}
 	
 	@Test
@@ -656,4 +674,71 @@ public class CollidableTest {
 		assertEquals(Double.POSITIVE_INFINITY, mutableCollidable11.getTimeToCollisionWithBoundary(),Util.EPSILON);
 	}
 	
+	// lazy positions
+	
+	@Test // Does a collidable follow the clock of its world without changing its course?
+	public void testGetPosition_WorldClockCase() {
+		World world = new World(1000,1000);
+		Asteroid asteroid = new Asteroid(new Vector(100,100), new Vector(10,20), 10);
+		world.addAsCollidable(asteroid);
+		world.evolve(2);
+		assertEquals(2, world.getTime(), Util.EPSILON);
+		assertEquals(120, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(140, asteroid.getPosition().getYComponent(), Util.EPSILON);
+		assertEquals(asteroid.getPosition(), asteroid.getPosition());
+		assertEquals(new Vector(10,20), asteroid.getVelocity());
+		world.evolve(0.5);
+		assertEquals(125, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(150, asteroid.getPosition().getYComponent(), Util.EPSILON);
+	}
+	
+	@Test // Is a collidable that bounces in the middle of a step anchored at the time of the bounce?
+	public void testGetPosition_BounceWithinStepCase() {
+		World world = new World(1000,1000);
+		Asteroid asteroid = new Asteroid(new Vector(50,500), new Vector(-40,0), 10);
+		world.addAsCollidable(asteroid);
+		world.evolve(2);
+		assertEquals(40, asteroid.getVelocity().getXComponent(), Util.EPSILON);
+		assertEquals(50, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(500, asteroid.getPosition().getYComponent(), Util.EPSILON);
+		world.evolve(1);
+		assertEquals(90, asteroid.getPosition().getXComponent(), Util.EPSILON);
+	}
+	
+	@Test // Does a change of velocity between two steps keep the position reached so far?
+	public void testGetPosition_VelocityChangeCase() {
+		World world = new World(1000,1000,0,WorldConfig.getDefault().withThrusterAmount(1000));
+		Ship ship = new Ship(new Vector(100,100), new Vector(10,0), 10, 10, 0);
+		world.addAsCollidable(ship);
+		world.evolve(1);
+		ship.setThrusterEnabled(true);
+		ship.thrust(1);
+		ship.setThrusterEnabled(false);
+		assertEquals(110, ship.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(10.1, ship.getVelocity().getXComponent(), Util.EPSILON);
+		world.evolve(1);
+		assertEquals(120.1, ship.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(100, ship.getPosition().getYComponent(), Util.EPSILON);
+	}
+	
+	@Test // Does a collidable keep its position when it moves between worlds whose clocks differ?
+	public void testGetPosition_WorldsWithDifferentClocksCase() {
+		World first = new World(1000,1000);
+		World second = new World(1000,1000);
+		first.evolve(5);
+		second.evolve(3);
+		Asteroid asteroid = new Asteroid(new Vector(100,100), new Vector(10,0), 10);
+		first.addAsCollidable(asteroid);
+		first.evolve(1);
+		assertEquals(110, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		first.removeAsCollidable(asteroid);
+		first.evolve(1);
+		assertEquals(110, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		second.addAsCollidable(asteroid);
+		assertEquals(110, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		second.evolve(1);
+		assertEquals(120, asteroid.getPosition().getXComponent(), Util.EPSILON);
+		assertEquals(4, second.getTime(), Util.EPSILON);
+	}
+	
 }
\ No newline at end of file
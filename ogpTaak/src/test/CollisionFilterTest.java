@@ -0,0 +1,102 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import support.Collision;
+import support.Vector;
+
+import gameObjects.*;
+
+/**
+ * A class collecting tests for the class of collision filters.
+ *
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class CollisionFilterTest {
+
+	private World world;
+	private Asteroid asteroid1;
+	private Asteroid asteroid2;
+	private Ship ship;
+
+	@Before
+	public void setUp() throws Exception {
+		world = new World(1000,1000);
+		asteroid1 = new Asteroid(new Vector(100,500), new Vector(50,0), 10);
+		asteroid2 = new Asteroid(new Vector(300,500), new Vector(-50,0), 10);
+		ship = new Ship(new Vector(500,100), new Vector(0,0), 10, 10, 0);
+		world.addAsCollidable(asteroid1);
+		world.addAsCollidable(asteroid2);
+		world.addAsCollidable(ship);
+	}
+
+	// categories
+
+	@Test
+	public void testGetCategory_DefaultCase() {
+		assertEquals(CollisionFilter.ASTEROID, asteroid1.getCategory());
+		assertEquals(CollisionFilter.SHIP, ship.getCategory());
+	}
+
+	@Test
+	public void testSetCategory_LegalCase() {
+		asteroid1.setCategory(5);
+		assertEquals(5, asteroid1.getCategory());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testSetCategory_IllegalCase() {
+		asteroid1.setCategory(CollisionFilter.NB_CATEGORIES);
+	}
+
+	// setInteracting
+
+	@Test
+	public void testSetInteracting_Symmetric() {
+		CollisionFilter filter = new CollisionFilter();
+		assertTrue(filter.canInteract(CollisionFilter.SHIP, CollisionFilter.BULLET));
+		filter.setInteracting(CollisionFilter.SHIP, CollisionFilter.BULLET, false);
+		assertFalse(filter.canInteract(CollisionFilter.BULLET, CollisionFilter.SHIP));
+		filter.setInteracting(CollisionFilter.BULLET, CollisionFilter.SHIP, true);
+		assertTrue(filter.canInteract(CollisionFilter.SHIP, CollisionFilter.BULLET));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testSetInteracting_IllegalCase() {
+		new CollisionFilter().setInteracting(-1, CollisionFilter.SHIP, false);
+	}
+
+	// pruning
+
+	@Test
+	public void testGetNextCollisionWithOther_FilteredCase() {
+		assertNotNull(world.getNextCollisionWithOther());
+		world.getCollisionFilter().setInteracting(CollisionFilter.ASTEROID, CollisionFilter.ASTEROID, false);
+		assertNull(world.getNextCollisionWithOther());
+		assertNull(world.getNextCollisionWithOther(10));
+	}
+
+	@Test
+	public void testGetNextCollisionWithOther_MaskCase() {
+		asteroid2.setCollisionMask(CollisionFilter.ALL & ~CollisionFilter.getMask(CollisionFilter.ASTEROID));
+		assertNull(world.getNextCollisionWithOther());
+		asteroid2.setCollisionMask(CollisionFilter.ALL);
+		Collision next = world.getNextCollisionWithOther();
+		assertNotNull(next);
+	}
+
+	@Test // Do asteroids that cannot interact pass through each other?
+	public void testEvolve_FilteredCase() {
+		world.getCollisionFilter().setInteracting(CollisionFilter.ASTEROID, CollisionFilter.ASTEROID, false);
+		world.evolve(3);
+		assertEquals(50, asteroid1.getVelocity().getXComponent(), 0);
+		assertEquals(-50, asteroid2.getVelocity().getXComponent(), 0);
+		assertTrue(asteroid1.getPosition().getXComponent() > asteroid2.getPosition().getXComponent());
+	}
+
+}
@@ -0,0 +1,147 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URL;
+import java.util.Random;
+
+import model.Facade;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import asteroids.HeadlessRunner;
+import asteroids.HeadlessRunner.Report;
+import gameObjects.*;
+
+/**
+ * A class collecting tests for the class of headless runners and their scenario files.
+ *
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class HeadlessRunnerTest {
+
+	private Facade facade;
+	private HeadlessRunner<World, Ship, Asteroid, Bullet, model.Program> runner;
+	private URL program;
+
+	@Before
+	public void setUp() throws Exception {
+		facade = new Facade();
+		runner = new HeadlessRunner<>(facade, 1. / 30, 5, false);
+		program = HeadlessRunnerTest.class.getClassLoader().getResource("asteroids/resources/program.txt");
+	}
+
+	private World load(String scenario) throws IOException {
+		return runner.loadScenario(new BufferedReader(new StringReader(scenario)), null, null, new Random(3));
+	}
+
+	@Test
+	public void testLoadScenario_LegalCase() throws IOException {
+		World world = load("# two ships and an asteroid\n"
+				+ "\n"
+				+ "world 800 600\n"
+				+ "  ship 100 300 0 0 20 0 5E15\n"
+				+ "ship 700 300 10 -5 20 3.14 5E15\n"
+				+ "\t# the asteroid drifts to the left\n"
+				+ "asteroid 400 100 -20 0 30\n");
+		assertEquals(800, facade.getWorldWidth(world), 0);
+		assertEquals(600, facade.getWorldHeight(world), 0);
+		assertEquals(2, facade.getShips(world).size());
+		assertEquals(1, facade.getAsteroids(world).size());
+		Asteroid asteroid = facade.getAsteroids(world).iterator().next();
+		assertEquals(-20, facade.getAsteroidXVelocity(asteroid), 0);
+		assertEquals(30, facade.getAsteroidRadius(asteroid), 0);
+	}
+
+	@Test // Are program files resolved against the directory of the scenario?
+	public void testLoadScenario_ProgramCase() throws Exception {
+		File directory = new File(program.toURI()).getParentFile();
+		World world = runner.loadScenario(new BufferedReader(new StringReader(
+				"world 800 600\nship 100 300 0 0 20 0 5E15 program.txt\nship 700 300 0 0 20 3.14 5E15\n")), directory, null, new Random(3));
+		assertEquals(2, facade.getShips(world).size());
+		assertEquals(5, runner.run(world).getSimulatedTime(), 1E-9);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_UnknownKeywordCase() throws IOException {
+		load("world 800 600\nplanet 100 100 0 0 20\n");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_ShipBeforeWorldCase() throws IOException {
+		load("ship 100 300 0 0 20 0 5E15\nworld 800 600\n");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_SecondWorldCase() throws IOException {
+		load("world 800 600\nworld 800 600\n");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_BadNumberCase() throws IOException {
+		load("world 800 600\nasteroid 400 one -20 0 30\n");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_MissingFieldCase() throws IOException {
+		load("world 800 600\nasteroid 400 100 -20 0\n");
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadScenario_MissingWorldCase() throws IOException {
+		load("# nothing but a comment\n");
+	}
+
+	@Test // Does the message of a bad line tell which line it is?
+	public void testLoadScenario_LineNumberCase() throws IOException {
+		try {
+			load("world 800 600\n\nasteroid 400 100 -20 0 -30\n");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage().startsWith("line 3: "));
+		}
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalStepCase() {
+		new HeadlessRunner<>(facade, 0, 5, false);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalMaxTimeCase() {
+		new HeadlessRunner<>(facade, 1. / 30, -1, false);
+	}
+
+	@Test // Is the last step shortened so that exactly the maximum time is simulated?
+	public void testRun_MaxTimeCase() throws IOException {
+		Report report = new HeadlessRunner<>(facade, 0.4, 1, false).run(load("world 800 600\nasteroid 400 100 -20 0 30\n"));
+		assertEquals(1, report.getSimulatedTime(), 1E-9);
+		assertEquals(3, report.getSteps());
+		assertEquals(1, report.getAsteroids());
+	}
+
+	@Test // Does a runner stop once at most one ship is left, if asked to?
+	public void testRun_UntilOneShipCase() throws IOException {
+		Report report = new HeadlessRunner<>(facade, 1. / 30, 5, true).run(load("world 800 600\nship 100 300 0 0 20 0 5E15\n"));
+		assertEquals(0, report.getSteps());
+		assertEquals(0, report.getSimulatedTime(), 0);
+	}
+
+	@Test // Do two runs of the default scenario with the same seed give the same report?
+	public void testRun_SeededCase() throws IOException {
+		Report first = runner.run(runner.createDefaultScenario(program, new Random(11)));
+		Report second = runner.run(runner.createDefaultScenario(program, new Random(11)));
+		assertEquals(first.getSimulatedTime(), second.getSimulatedTime(), 0);
+		assertEquals(first.getSteps(), second.getSteps());
+		assertEquals(first.getShips(), second.getShips());
+		assertEquals(first.getAsteroids(), second.getAsteroids());
+		assertEquals(5, first.getSimulatedTime(), 1E-9);
+	}
+}
@@ -0,0 +1,132 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import support.Kinematics;
+import support.Vector;
+
+import gameObjects.*;
+
+import asteroids.Util;
+
+/**
+ * A class collecting tests for the class of kinematics.
+ * 
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class KinematicsTest {
+	
+	// isFinite
+	
+	@Test
+	public void testIsFinite() {
+		assertTrue(Kinematics.isFinite(1));
+		assertFalse(Kinematics.isFinite(Double.NaN));
+		assertFalse(Kinematics.isFinite(Double.POSITIVE_INFINITY));
+	}
+	
+	// canCloseGap
+	
+	@Test
+	public void testCanCloseGap() {
+		assertTrue(Kinematics.canCloseGap(30, 10, 5, 2));
+		assertFalse(Kinematics.canCloseGap(31, 10, 5, 2));
+		assertFalse(Kinematics.canCloseGap(1, 0, 0, 100));
+	}
+	
+	@Test // Does the bound never rule out a collision within the given time?
+	public void testCanCloseGap_CollisionCase() {
+		double time = Kinematics.getTimeToCollision(0, 0, 10, 0, 10, 100, 0, -5, 0, 10);
+		double gap = Kinematics.getDistanceBetween(0, 0, 10, 100, 0, 10);
+		assertTrue(Kinematics.canCloseGap(gap, 10, 5, time));
+	}
+	
+	// getDistanceBetween
+	
+	@Test
+	public void testGetDistanceBetween_LegalCase() {
+		assertTrue(Util.fuzzyEquals(30, Kinematics.getDistanceBetween(0, 0, 10, 50, 0, 10)));
+	}
+	
+	@Test
+	public void testGetDistanceBetween_OverflowCase() {
+		assertEquals(Double.POSITIVE_INFINITY, Kinematics.getDistanceBetween(-Double.MAX_VALUE, 0, 10, Double.MAX_VALUE, 0, 10), 0);
+	}
+	
+	// getTimeToCollision
+	
+	@Test
+	public void testGetTimeToCollision_SameAsCollidables() {
+		Ship ship1 = new Ship(new Vector(250,250), new Vector(10,0), 10, 10, 1);
+		Ship ship2 = new Ship(new Vector(370,260), new Vector(-10,0), 10, 10, 1);
+		double expected = ship1.getTimeToCollision(ship2);
+		assertTrue(expected < Double.POSITIVE_INFINITY);
+		assertTrue(expected == Kinematics.getTimeToCollision(250, 250, 10, 0, 10, 370, 260, -10, 0, 10));
+	}
+	
+	@Test
+	public void testGetTimeToCollision_DivergingCase() {
+		assertEquals(Double.POSITIVE_INFINITY, Kinematics.getTimeToCollision(0, 0, -10, 0, 10, 100, 0, 10, 0, 10), 0);
+	}
+	
+	@Test
+	public void testGetTimeToCollision_OverflowCase() {
+		assertEquals(Double.POSITIVE_INFINITY, 
+				Kinematics.getTimeToCollision(0, 0, Double.MAX_VALUE, 0, 10, Double.MAX_VALUE, 0, -Double.MAX_VALUE, 0, 10), 0);
+	}
+	
+	// getTimesToCollision
+	
+	@Test // Does the batch kernel agree with the scalar version on every lane, including the lanes after the last block?
+	public void testGetTimesToCollision_SameAsScalar() {
+		Random random = new Random(18);
+		int n = 4 * Kinematics.BLOCK_SIZE + 3;
+		double[] xs = new double[n], ys = new double[n], vxs = new double[n], vys = new double[n], radii = new double[n];
+		for (int k = 0; k < n; k++) {
+			xs[k] = 1000 * random.nextDouble();
+			ys[k] = 1000 * random.nextDouble();
+			vxs[k] = 200 * random.nextDouble() - 100;
+			vys[k] = 200 * random.nextDouble() - 100;
+			radii[k] = 10 + 40 * random.nextDouble();
+		}
+		// a resting body, a body touching the first one and a body overflowing the computations
+		vxs[3] = vxs[0];
+		vys[3] = vys[0];
+		xs[5] = xs[0] + radii[0] + radii[5];
+		ys[5] = ys[0];
+		vxs[7] = -Double.MAX_VALUE;
+		double[] times = new double[n];
+		for (int from = 1; from < n; from++) {
+			Kinematics.getTimesToCollision(xs[0], ys[0], vxs[0], vys[0], radii[0], xs, ys, vxs, vys, radii, from, n, false, times);
+			for (int k = from; k < n; k++)
+				assertEquals(Double.doubleToLongBits(Kinematics.getTimeToCollision(xs[0], ys[0], vxs[0], vys[0], radii[0], 
+						xs[k], ys[k], vxs[k], vys[k], radii[k])), Double.doubleToLongBits(times[k]));
+		}
+	}
+	
+	@Test
+	public void testGetTimesToCollision_OverlappingCase() {
+		double[] xs = {15, 100}, ys = {0, 0}, vxs = {-10, -10}, vys = {0, 0}, radii = {10, 10};
+		double[] times = new double[2];
+		Kinematics.getTimesToCollision(0, 0, 10, 0, 10, xs, ys, vxs, vys, radii, 0, 2, true, times);
+		assertEquals(Double.POSITIVE_INFINITY, times[0], 0);
+		assertEquals(Kinematics.getTimeToCollision(0, 0, 10, 0, 10, 100, 0, -10, 0, 10), times[1], 0);
+		Kinematics.getTimesToCollision(0, 0, 10, 0, 10, xs, ys, vxs, vys, radii, 0, 2, false, times);
+		assertEquals(Kinematics.getTimeToCollision(0, 0, 10, 0, 10, 15, 0, -10, 0, 10), times[0], 0);
+	}
+	
+	// getImpulseFactor
+	
+	@Test
+	public void testGetImpulseFactor_HeadOnCase() {
+		// Equal masses colliding head-on exchange their velocities.
+		double factor = Kinematics.getImpulseFactor(0, 0, 10, 0, 10, 1, 20, 0, -10, 0, 10, 1);
+		assertTrue(Util.fuzzyEquals(-10, 10 + 20 * factor));
+	}
+}
@@ -377,9 +377,13 @@ public class ShipTest {
 	
 	@Test
 	public void testCanFireBullets_IllegalCase() {
+		mutableShip1.setDirection(0.2);
 		mutableShip1.fireBullet();
+		mutableShip1.setDirection(0.8);
 		mutableShip1.fireBullet();
+		mutableShip1.setDirection(1.4);
 		mutableShip1.fireBullet();
+		assertEquals(3, mutableShip1.getWorld().getNbBullets());
 		assertFalse(mutableShip1.canFireBullets());
 	}
 	
@@ -0,0 +1,75 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import asteroids.SimulationClock;
+
+/**
+ * A class collecting tests for the class of simulation clocks.
+ *
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class SimulationClockTest {
+
+	private SimulationClock clock;
+
+	@Before
+	public void setUp() throws Exception {
+		clock = new SimulationClock(0.01, 5, 0.25);
+	}
+
+	@Test
+	public void testAdvance_AccumulatingCase() {
+		assertEquals(0, clock.advance(0.004));
+		assertEquals(0.4, clock.getAlpha(), 1E-9);
+		assertEquals(1, clock.advance(0.008));
+		assertEquals(0.2, clock.getAlpha(), 1E-9);
+		assertEquals(2, clock.advance(0.02));
+		assertEquals(0, clock.getDroppedTime(), 0);
+	}
+
+	@Test // Are frames of exactly one step never rounded down to none?
+	public void testAdvance_ExactCase() {
+		for (int i = 0; i < 100; i++)
+			assertEquals(1, clock.advance(0.01));
+	}
+
+	@Test // Is the time owed beyond the maximum number of steps dropped?
+	public void testAdvance_CatchUpCase() {
+		assertEquals(5, clock.advance(0.083));
+		assertEquals(0.3, clock.getAlpha(), 1E-6);
+		assertEquals(0.03, clock.getDroppedTime(), 1E-9);
+		assertEquals(1, clock.advance(0.007));
+	}
+
+	@Test // Is a long pause capped at the maximum frame time?
+	public void testAdvance_PauseCase() {
+		assertEquals(5, clock.advance(10));
+		assertTrue(clock.getDroppedTime() >= 9.75);
+		assertTrue(clock.getAlpha() < 1);
+	}
+
+	@Test
+	public void testReset() {
+		clock.advance(0.005);
+		clock.reset();
+		assertEquals(0, clock.getAlpha(), 0);
+		assertEquals(0, clock.advance(0.005));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testAdvance_IllegalCase() {
+		clock.advance(-1);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalCase() {
+		new SimulationClock(0);
+	}
+
+}
@@ -0,0 +1,231 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import model.Facade;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import asteroids.HeadlessRunner;
+import asteroids.Tournament;
+import asteroids.Tournament.Entrant;
+import asteroids.Tournament.Pairing;
+import asteroids.Tournament.Result;
+import gameObjects.*;
+
+/**
+ * A class collecting tests for the class of tournaments, their schedules and their result sinks.
+ *
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class TournamentTest {
+
+	private Entrant first, second, third;
+	private Tournament<World, Ship, Asteroid, Bullet, model.Program> tournament;
+
+	@Before
+	public void setUp() throws Exception {
+		first = Entrant.load(new File(TournamentTest.class.getClassLoader().getResource("asteroids/resources/program.txt").toURI()));
+		second = new Entrant("idle", "skip;");
+		third = new Entrant("gunner", "double d := 0.2;\nwhile (true) {\n\tturn d;\n\tfire;\n\tthrust;\n}\n");
+		tournament = new Tournament<>(new Facade(), 1. / 30, 2, 42);
+	}
+
+	// schedules
+
+	@Test
+	public void testRoundRobin() {
+		List<Pairing> pairings = Tournament.roundRobin(Arrays.asList(first, second, third), 2);
+		assertEquals(12, pairings.size());
+		for (Pairing pairing : pairings)
+			assertNotSame(pairing.getFirst(), pairing.getSecond());
+		int asFirst = 0, asSecond = 0;
+		for (Pairing pairing : pairings) {
+			if (pairing.getFirst() == second)
+				asFirst++;
+			if (pairing.getSecond() == second)
+				asSecond++;
+		}
+		assertEquals(4, asFirst);
+		assertEquals(4, asSecond);
+	}
+
+	@Test
+	public void testRoundRobin_SingleEntrantCase() {
+		assertTrue(Tournament.roundRobin(Arrays.asList(first), 3).isEmpty());
+	}
+
+	@Test // Are the programs of a schedule loaded once, relative to its directory, and repeated the given number of times?
+	public void testLoadSchedule_LegalCase() throws IOException {
+		File directory = createDirectory();
+		write(new File(directory, "a.txt"), "skip;\n");
+		write(new File(directory, "b.txt"), "fire;\n");
+		List<Pairing> pairings = Tournament.loadSchedule(new BufferedReader(new StringReader(
+				"# a short schedule\n\na.txt b.txt\n  b.txt a.txt 3\n")), directory);
+		assertEquals(4, pairings.size());
+		assertEquals("a.txt", pairings.get(0).getFirst().getName());
+		assertEquals("b.txt", pairings.get(0).getSecond().getName());
+		assertEquals("fire;\n", pairings.get(0).getSecond().getText());
+		assertSame(pairings.get(0).getFirst(), pairings.get(1).getSecond());
+		assertSame(pairings.get(1).getFirst(), pairings.get(3).getFirst());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadSchedule_MissingProgramCase() throws IOException {
+		Tournament.loadSchedule(new BufferedReader(new StringReader("a.txt\n")), createDirectory());
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testLoadSchedule_BadCountCase() throws IOException {
+		File directory = createDirectory();
+		write(new File(directory, "a.txt"), "skip;\n");
+		Tournament.loadSchedule(new BufferedReader(new StringReader("a.txt a.txt twice\n")), directory);
+	}
+
+	@Test (expected = IOException.class)
+	public void testLoadSchedule_UnknownFileCase() throws IOException {
+		Tournament.loadSchedule(new BufferedReader(new StringReader("a.txt b.txt\n")), createDirectory());
+	}
+
+	private static File createDirectory() throws IOException {
+		File directory = File.createTempFile("schedule", "");
+		assertTrue(directory.delete() && directory.mkdir());
+		directory.deleteOnExit();
+		return directory;
+	}
+
+	private static void write(File file, String text) throws IOException {
+		try (Writer writer = new FileWriter(file)) {
+			writer.write(text);
+		}
+		file.deleteOnExit();
+	}
+
+	// sinks
+
+	@Test // Are fields with commas, quotes or line breaks quoted?
+	public void testCsvSink() throws IOException {
+		StringWriter out = new StringWriter();
+		Tournament.ResultSink sink = new Tournament.CsvSink(out);
+		Pairing pairing = new Pairing(new Entrant("a,b", ""), new Entrant("say \"hi\"", ""));
+		sink.accept(new Result(3, 7, pairing, null, 10, 1.5, 20, 30, "line\nbreak"));
+		String[] lines = out.toString().split("\\r?\\n(?=[0-9]|$)");
+		assertEquals("match,seed,first,second,winner,ticks,simulated_time,first_program_ns,second_program_ns,error", lines[0]);
+		assertEquals("3,7,\"a,b\",\"say \"\"hi\"\"\",,10,1.500000,20,30,\"line\nbreak\"", lines[1]);
+	}
+
+	@Test // Are quotes, backslashes and control characters escaped, and missing values written as null?
+	public void testNdjsonSink() throws IOException {
+		StringWriter out = new StringWriter();
+		Tournament.ResultSink sink = new Tournament.NdjsonSink(out);
+		Pairing pairing = new Pairing(new Entrant("back\\slash", ""), new Entrant("say \"hi\"", ""));
+		sink.accept(new Result(3, 7, pairing, Tournament.DRAW, 10, 1.5, 20, 30, null));
+		sink.accept(new Result(4, 8, pairing, null, 0, 0, 0, 0, "tab\there"));
+		String[] lines = out.toString().split("\\r?\\n");
+		assertEquals(2, lines.length);
+		assertEquals("{\"match\":3,\"seed\":7,\"first\":\"back\\\\slash\",\"second\":\"say \\\"hi\\\"\",\"winner\":\"draw\","
+				+ "\"ticks\":10,\"simulated_time\":1.500000,\"first_program_ns\":20,\"second_program_ns\":30,\"error\":null}", lines[0]);
+		assertTrue(lines[1].contains("\"winner\":null"));
+		assertTrue(lines[1].endsWith("\"error\":\"tab\\u0009here\"}"));
+	}
+
+	// matches
+
+	@Test // Does the seed of a match only depend on the seed of the tournament and the index of the match?
+	public void testGetMatchSeed() {
+		Tournament<World, Ship, Asteroid, Bullet, model.Program> other = new Tournament<>(new Facade(), 0.1, 1, 42);
+		assertEquals(tournament.getMatchSeed(5), other.getMatchSeed(5));
+		assertFalse(tournament.getMatchSeed(5) == tournament.getMatchSeed(6));
+	}
+
+	@Test // Does a program that cannot be parsed end its match with an error instead of ending the tournament?
+	public void testPlay_ErrorCase() {
+		Result result = tournament.play(new Pairing(first, new Entrant("broken", "while do")), 0);
+		assertNull(result.getWinner());
+		assertNotNull(result.getError());
+	}
+
+	@Test // Do the matches give the same results whatever the number of threads?
+	public void testPlay_ThreadsCase() throws Exception {
+		List<Pairing> pairings = Tournament.roundRobin(Arrays.asList(first, second, third), 1);
+		List<Result> sequential = playAll(pairings, 1);
+		List<Result> parallel = playAll(pairings, 3);
+		assertEquals(pairings.size(), sequential.size());
+		assertEquals(pairings.size(), parallel.size());
+		for (int i = 0; i < pairings.size(); i++) {
+			assertEquals(i, sequential.get(i).getIndex());
+			assertEquals(i, parallel.get(i).getIndex());
+			assertNull(sequential.get(i).getError());
+			assertEquals(sequential.get(i).getSeed(), parallel.get(i).getSeed());
+			assertEquals(sequential.get(i).getWinner(), parallel.get(i).getWinner());
+			assertEquals(sequential.get(i).getTicks(), parallel.get(i).getTicks());
+			assertEquals(sequential.get(i).getSimulatedTime(), parallel.get(i).getSimulatedTime(), 0);
+		}
+	}
+
+	@Test // Does a match whose programs keep bullets in their variables play the same with and without pooling?
+	public void testPlay_ProgramReferencesCase() throws Exception {
+		double[] pooled = playReferencing(true);
+		assertTrue(Arrays.equals(playReferencing(false), pooled));
+	}
+
+	/**
+	 * Play a match between two ships whose programs keep the first bullet they fire in a variable and steer by its 
+	 * position long after it was terminated, and return the resulting positions and directions of both ships.
+	 */
+	private static double[] playReferencing(boolean pooling) throws Exception {
+		Facade facade = new Facade();
+		HeadlessRunner<World, Ship, Asteroid, Bullet, model.Program> runner = new HeadlessRunner<>(facade, 1. / 30, 20, false);
+		World world = facade.createWorld(HeadlessRunner.DEFAULT_WIDTH, HeadlessRunner.DEFAULT_HEIGHT);
+		facade.setWorldPooling(world, pooling);
+		List<Ship> players = runner.addDefaultShips(world);
+		String text = "entity b;\nfire;\nforeach (bullet, c) {\n\tb := c;\n}\n"
+				+ "while (true) {\n\tturn (gety b) / 1000;\n\tfire;\n\tthrust;\n}\n";
+		for (Ship player : players)
+			facade.setShipProgram(player, runner.parseProgram(text));
+		runner.run(world);
+		double[] result = new double[3 * players.size()];
+		for (int i = 0; i < players.size(); i++) {
+			result[3*i] = facade.getShipX(players.get(i));
+			result[3*i+1] = facade.getShipY(players.get(i));
+			result[3*i+2] = facade.getShipDirection(players.get(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Play the given pairings on the given number of threads, and return their results ordered by the indices of the matches.
+	 */
+	private List<Result> playAll(List<Pairing> pairings, int threads) throws Exception {
+		final List<Result> results = new ArrayList<Result>();
+		tournament.play(pairings, threads, new Tournament.ResultSink() {
+			@Override
+			public void accept(Result result) {
+				results.add(result);
+			}
+		});
+		Collections.sort(results, new Comparator<Result>() {
+			@Override
+			public int compare(Result one, Result other) {
+				return Integer.compare(one.getIndex(), other.getIndex());
+			}
+		});
+		return results;
+	}
+}
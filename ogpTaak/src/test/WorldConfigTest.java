@@ -0,0 +1,121 @@
+package test;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import support.Vector;
+
+import gameObjects.*;
+
+/**
+ * A class collecting tests for the class of world configurations.
+ *
+ * @author 	Martijn Bousse, Wout Vekemans
+ * @version	1.0
+ *
+ */
+public class WorldConfigTest {
+
+	private WorldConfig config;
+
+	@Before
+	public void setUp() throws Exception {
+		config = WorldConfig.getDefault();
+	}
+
+	@Test
+	public void testGetDefault() {
+		assertEquals(Collidable.SPEED_OF_LIGHT, config.getSpeedOfLight(), 0);
+		assertEquals(Asteroid.DENSITY, config.getAsteroidDensity(), 0);
+		assertEquals(Bullet.DENSITY, config.getBulletDensity(), 0);
+		assertEquals(Ship.getThrusterAmount(), config.getThrusterAmount(), 0);
+		assertEquals(Collidable.getMinRadius(), config.getMinRadius(), 0);
+		assertSame(config, WorldConfig.getDefault());
+		assertSame(config, new World(100, 100).getConfig());
+	}
+
+	@Test
+	public void testWith() {
+		WorldConfig other = config.withDensities(1, 2);
+		assertEquals(1, other.getBulletDensity(), 0);
+		assertEquals(2, other.getAsteroidDensity(), 0);
+		assertEquals(config.getSpeedOfLight(), other.getSpeedOfLight(), 0);
+		assertFalse(config.equals(other));
+		assertEquals(config, other.withDensities(config.getBulletDensity(), config.getAsteroidDensity()));
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testConstructor_IllegalCase() {
+		config.withSpeedOfLight(Double.NaN);
+	}
+
+	@Test (expected = IllegalArgumentException.class)
+	public void testWorld_NonEffectiveCase() {
+		new World(100, 100, 0, null);
+	}
+
+	@Test
+	public void testWorld_MaxDimensionsCase() {
+		World world = new World(1000, 1000, 0, config.withMaxDimensions(500, 600));
+		assertEquals(500, world.getWidth(), 0);
+		assertEquals(600, world.getHeight(), 0);
+	}
+
+	@Test // Do collidables follow the rules of the world they are attached to?
+	public void testCollidable_ConfigOfWorldCase() {
+		World world = new World(1000, 1000, 0, config.withDensities(1, 1).withSpeedOfLight(100).withThrusterAmount(1000));
+		Asteroid asteroid = new Asteroid(new Vector(500,500), new Vector(50,0), 10);
+		Ship ship = new Ship(new Vector(100,100), new Vector(0,0), 10, 10, 0);
+		double mass = asteroid.getMass();
+		assertEquals(300000, asteroid.getSpeedLimit(), 0);
+		world.addAsCollidable(asteroid);
+		world.addAsCollidable(ship);
+		assertSame(world.getConfig(), asteroid.getConfig());
+		assertEquals(mass / Asteroid.DENSITY, asteroid.getMass(), 1e-9);
+		assertEquals(100, asteroid.getSpeedLimit(), 0);
+		assertEquals(1000.0 / 10 / 1000, ship.getAcceleration(), 0);
+	}
+
+	@Test
+	public void testCanHaveAsCollidable_SpeedOfLightCase() {
+		World world = new World(1000, 1000, 0, config.withSpeedOfLight(10));
+		assertFalse(world.canHaveAsCollidable(new Asteroid(new Vector(500,500), new Vector(50,0), 10)));
+		assertTrue(world.canHaveAsCollidable(new Asteroid(new Vector(500,500), new Vector(5,0), 10)));
+	}
+
+	@Test // Can worlds with different rules evolve concurrently?
+	public void testEvolve_ConcurrentCase() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Double>> results = new ArrayList<Future<Double>>();
+			for (int i = 0; i < 8; i++) {
+				final WorldConfig rules = config.withDensities(1, 1 + i % 2);
+				results.add(executor.submit(new Callable<Double>() {
+					@Override
+					public Double call() {
+						World world = new World(1000, 1000, 0, rules);
+						Asteroid heavy = new Asteroid(new Vector(200,500), new Vector(50,0), 20);
+						Asteroid light = new Asteroid(new Vector(400,500), new Vector(0,0), 10);
+						world.addAsCollidable(heavy);
+						world.addAsCollidable(light);
+						world.evolve(5);
+						return light.getVelocity().getXComponent();
+					}
+				}));
+			}
+			for (int i = 0; i < results.size(); i++)
+				assertEquals(results.get(i % 2).get(), results.get(i).get(), 0);
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
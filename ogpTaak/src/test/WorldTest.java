@@ -7,6 +7,19 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
 import support.Vector;
 
 import asteroids.*;
@@ -155,21 +168,17 @@ public class WorldTest {
 		assertEquals(World.getMaxWidth(),Double.MAX_VALUE,Util.EPSILON);
 	}
 	
-	@Test
-	public void testSetMaxWidth() {
-		
-	}
-
-	@Test
-	public void testSetMaxWidth_IllegalCases() {
-		World.setMaxHeight(-1);
-		assertEquals(World.getMaxWidth(), Double.MAX_VALUE, Util.EPSILON);
+	@Test (expected = IllegalArgumentException.class)
+	public void testWithMaxWidth_IllegalCase() {
+		WorldConfig.getDefault().withMaxDimensions(-1, Double.MAX_VALUE);
 	}
 	
 	@Test
-	public void testSetMaxWidth_LegalCase() {
-		World.setMaxWidth(755);
-		assertEquals(World.getMaxWidth(),755, Util.EPSILON);
+	public void testWithMaxWidth_LegalCase() {
+		World world = new World(1000, 1000, 0, WorldConfig.getDefault().withMaxDimensions(755, Double.MAX_VALUE));
+		assertEquals(755, world.getConfig().getMaxWidth(), Util.EPSILON);
+		assertEquals(755, world.getWidth(), Util.EPSILON);
+		assertEquals(World.getMaxWidth(), Double.MAX_VALUE, Util.EPSILON);
 	}
 
 	@Test
@@ -205,15 +214,16 @@ public class WorldTest {
 	}
 
 	@Test
-	public void testSetMaxHeight_LegalCase() {
-		World.setMaxHeight(755);
-		assertEquals(World.getMaxHeight(),755, Util.EPSILON);
+	public void testWithMaxHeight_LegalCase() {
+		World world = new World(1000, 1000, 0, WorldConfig.getDefault().withMaxDimensions(Double.MAX_VALUE, 755));
+		assertEquals(755, world.getConfig().getMaxHeight(), Util.EPSILON);
+		assertEquals(755, world.getHeight(), Util.EPSILON);
+		assertEquals(World.getMaxHeight(), Double.MAX_VALUE, Util.EPSILON);
 	}
 	
-	@Test
-	public void testSetMaxHeight_IllegalCases() {
-		World.setMaxHeight(-1);
-		assertEquals(World.getMaxHeight(), Double.MAX_VALUE, Util.EPSILON);
+	@Test (expected = IllegalArgumentException.class)
+	public void testWithMaxHeight_IllegalCase() {
+		WorldConfig.getDefault().withMaxDimensions(Double.MAX_VALUE, -1);
 	}
 
 	@Test
@@ -274,6 +284,19 @@ public class WorldTest {
 		assertEquals(1,mutableWorld3.getNbShips());
 	}
 	
+	@Test
+	public void testGetAllShips_LiveView() {
+		java.util.Set<Ship> ships = mutableWorld3.getAllShips();
+		mutableWorld3.removeAsCollidable(mutableShip1);
+		assertFalse(ships.contains(mutableShip1));
+		assertEquals(0,mutableWorld3.getNbShips());
+	}
+	
+	@Test(expected = UnsupportedOperationException.class)
+	public void testGetAllShips_ReadOnly() {
+		mutableWorld3.getAllShips().clear();
+	}
+	
 	// getAllAsteroids 
 	
 	@Test
@@ -344,6 +367,60 @@ public class WorldTest {
 		assertFalse(world1.canHaveAsCollidable(collidable6));
 	}
 	
+	// region queries
+	
+	@Test
+	public void testGetCollidablesOverlapping_LegalCase() {
+		Collidable bullet = new Bullet(new Vector(255, 250), new Vector(0,0), 3);
+		Set<Collidable> overlapping = mutableWorld1.getCollidablesOverlapping(bullet);
+		assertEquals(1, overlapping.size());
+		assertTrue(overlapping.contains(mutableCollidable2));
+	}
+	
+	@Test (expected = IllegalArgumentException.class)
+	public void testGetCollidablesOverlapping_NullCase() {
+		mutableWorld1.getCollidablesOverlapping(null);
+	}
+	
+	@Test
+	public void testGetCollidablesWithin_LegalCase() {
+		assertTrue(mutableWorld1.getCollidablesWithin(new Vector(250, 275), 10).isEmpty());
+		assertEquals(1, mutableWorld1.getCollidablesWithin(new Vector(250, 275), 15).size());
+	}
+	
+	@Test // Do the region queries keep matching a scan of all collidables while the world evolves?
+	public void testRegionQueries_Evolving() {
+		World world = new World(700,700);
+		Random random = new Random(7);
+		while (world.getNbCollidables() < 150) {
+			Asteroid asteroid = new Asteroid(new Vector(20 + 660*random.nextDouble(), 20 + 660*random.nextDouble()), 
+					new Vector(100*random.nextDouble() - 50, 100*random.nextDouble() - 50), 2 + 8*random.nextDouble());
+			if (world.canHaveAsCollidable(asteroid))
+				world.addAsCollidable(asteroid);
+		}
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j < 20; j++) {
+				Vector point = new Vector(700*random.nextDouble(), 700*random.nextDouble());
+				double distance = 40*random.nextDouble();
+				Collidable probe = new Bullet(point, new Vector(0,0), distance + 1);
+				Set<Collidable> within = new HashSet<Collidable>();
+				Set<Collidable> overlapping = new HashSet<Collidable>();
+				for (Collidable collidable : world.getAllCollidables()) {
+					double dx = collidable.getPosition().getXComponent() - point.getXComponent();
+					double dy = collidable.getPosition().getYComponent() - point.getYComponent();
+					if (Util.fuzzyLessThanOrEqualTo(Math.sqrt(dx*dx + dy*dy) - collidable.getRadius(), distance))
+						within.add(collidable);
+					if (probe.overlap(collidable))
+						overlapping.add(collidable);
+				}
+				assertEquals(within, world.getCollidablesWithin(point, distance));
+				assertEquals(overlapping, world.getCollidablesOverlapping(probe));
+			}
+			// Short steps reuse the tree, long steps make it rebuild.
+			world.evolve((i % 2 == 0) ? 0.02 : 0.5);
+		}
+	}
+	
 	// hasAsCollidable
 	
 	@Test
@@ -411,6 +488,47 @@ public class WorldTest {
 		terminatedWorld.addAsCollidable(terminatedCollidable); 
 	}
 		
+	// addAllCollidables
+	
+	@Test
+	public void testAddAllCollidables_RejectedCase() {
+		Asteroid overlappingWorld = new Asteroid(new Vector(255, 250), new Vector(0,0), 10);
+		Asteroid first = new Asteroid(new Vector(400, 400), new Vector(0,0), 10);
+		Asteroid overlappingFirst = new Asteroid(new Vector(410, 400), new Vector(0,0), 10);
+		List<Asteroid> batch = Arrays.asList(overlappingWorld, first, null, overlappingFirst);
+		Set<Asteroid> rejected = mutableWorld1.addAllCollidables(batch);
+		assertEquals(new HashSet<Asteroid>(Arrays.asList(overlappingWorld, null, overlappingFirst)), rejected);
+		assertTrue(mutableWorld1.hasAsCollidable(first));
+		assertEquals(mutableWorld1, first.getWorld());
+		assertEquals(3, mutableWorld1.getNbCollidables());
+		assertTrue(mutableWorld1.hasProperCollidables());
+	}
+	
+	@Test (expected = IllegalArgumentException.class)
+	public void testAddAllCollidables_NullCase() {
+		mutableWorld1.addAllCollidables(null);
+	}
+	
+	@Test // Does a batch accept the same collidables as adding them one by one?
+	public void testAddAllCollidables_SameAsOneByOne() {
+		World bulk = new World(700,700);
+		World single = new World(700,700);
+		List<Asteroid> batch = new ArrayList<Asteroid>();
+		Random random = new Random(11);
+		for (int i = 0; i < 400; i++) {
+			Vector position = new Vector(700*random.nextDouble(), 700*random.nextDouble());
+			double radius = 2 + 18*random.nextDouble();
+			batch.add(new Asteroid(position, new Vector(0,0), radius));
+			Asteroid copy = new Asteroid(position, new Vector(0,0), radius);
+			if (single.canHaveAsCollidable(copy))
+				single.addAsCollidable(copy);
+		}
+		Set<Asteroid> rejected = bulk.addAllCollidables(batch);
+		assertEquals(single.getNbCollidables(), bulk.getNbCollidables());
+		assertEquals(batch.size(), bulk.getNbCollidables() + rejected.size());
+		assertTrue(bulk.hasProperCollidables());
+	}
+	
 	// removeAsCollidable
 	
 	@Test
@@ -441,4 +559,353 @@ public class WorldTest {
 		assertTrue(mutableShip3.getTimeToCollision(mutableShip2) < old);
 		
 	}
+	
+	@Test // Does a sleeping collidable wake when another collidable hits it?
+	public void testEvolve_WakeSleepingCase() {
+		World world = new World(500,500);
+		Asteroid sleeping = new Asteroid(new Vector(100,250), new Vector(0,0), 10);
+		Asteroid other = new Asteroid(new Vector(300,250), new Vector(0,0), 10);
+		Asteroid moving = new Asteroid(new Vector(200,250), new Vector(-50,0), 10);
+		world.addAsCollidable(sleeping);
+		world.addAsCollidable(other);
+		world.addAsCollidable(moving);
+		assertTrue(sleeping.isSleeping());
+		world.evolve(2);
+		assertFalse(sleeping.isSleeping());
+		assertTrue(other.isSleeping());
+		assertTrue(sleeping.getVelocity().getXComponent() < 0);
+	}
+	
+	@Test // Are simultaneous collisions resolved in the same order in every world?
+	public void testEvolve_SimultaneousCase() {
+		double[] first = evolveSimultaneous();
+		double[] second = evolveSimultaneous();
+		assertTrue(Arrays.equals(first, second));
+	}
+	
+	/**
+	 * Evolve a world in which one asteroid at rest is hit from both sides at the same time, 
+	 * while two other asteroids collide at that very time, and return the resulting velocities.
+	 */
+	private static double[] evolveSimultaneous() {
+		World world = new World(1000,1000);
+		Asteroid[] asteroids = new Asteroid[] {
+				new Asteroid(new Vector(500,500), new Vector(0,0), 10),
+				new Asteroid(new Vector(400,500), new Vector(40,0), 10),
+				new Asteroid(new Vector(600,500), new Vector(-40,0), 10),
+				new Asteroid(new Vector(500,200), new Vector(0,40), 10),
+				new Asteroid(new Vector(500,300), new Vector(0,-40), 10)};
+		for (Asteroid asteroid : asteroids)
+			world.addAsCollidable(asteroid);
+		world.evolve(2);
+		assertTrue(world.getNbProcessedCollisions() >= 3);
+		double[] result = new double[2 * asteroids.length];
+		for (int i = 0; i < asteroids.length; i++) {
+			result[2*i] = asteroids[i].getVelocity().getXComponent();
+			result[2*i+1] = asteroids[i].getVelocity().getYComponent();
+		}
+		return result;
+	}
+	
+	@Test // Does a world that predicts its collisions in parallel evolve exactly like a world that does not?
+	public void testEvolve_ParallelPredictionCase() {
+		double[] sequential = evolveCrowded(false, 5, 0.5);
+		double[] parallel = evolveCrowded(true, 5, 0.5);
+		assertTrue(Arrays.equals(sequential, parallel));
+	}
+	
+	@Test // Does a world that predicts its collisions in parallel stay identical to one that does not over many steps?
+	public void testEvolve_ParallelPredictionManyStepsCase() {
+		double[] sequential = evolveCrowded(false, 400, 0.05);
+		double[] parallel = evolveCrowded(true, 400, 0.05);
+		assertTrue(Arrays.equals(sequential, parallel));
+	}
+	
+	@Test // Does a world evolved by a worker of another pool predict its collisions in parallel on that pool?
+	public void testEvolve_ParallelPredictionInPoolCase() throws Exception {
+		ForkJoinPool pool = new ForkJoinPool(2);
+		try {
+			double[] parallel = pool.submit(new Callable<double[]>() {
+				@Override
+				public double[] call() {
+					return evolveCrowded(true, 20, 0.1);
+				}
+			}).get();
+			assertTrue(Arrays.equals(evolveCrowded(false, 20, 0.1), parallel));
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Evolve a world crowded with asteroids with random velocities and with a ship firing at them over the given
+	 * number of steps of the given size, predicting its collisions in parallel or not, and return the resulting 
+	 * positions and velocities of the asteroids present at the start.
+	 */
+	private static double[] evolveCrowded(boolean parallel, int steps, double dt) {
+		World world = new World(1000,1000,19);
+		world.setParallelPrediction(parallel);
+		Random random = new Random(19);
+		List<Asteroid> asteroids = new ArrayList<Asteroid>();
+		for (int i = 0; i < 20; i++)
+			for (int j = 0; j < 15; j++)
+				asteroids.add(new Asteroid(new Vector(50 + 40*i, 50 + 40*j), 
+						new Vector(100*random.nextDouble() - 50, 100*random.nextDouble() - 50), 5));
+		assertTrue(world.addAllCollidables(asteroids).isEmpty());
+		Ship ship = new Ship(new Vector(500,900), new Vector(0,0), 10, 10, -Math.PI/2);
+		world.addAsCollidable(ship);
+		int processed = 0;
+		for (int k = 0; k < steps; k++) {
+			ship.turn(0.05);
+			ship.fireBullet();
+			world.evolve(dt);
+			processed += world.getNbProcessedCollisions();
+		}
+		assertTrue(processed > 0);
+		double[] result = new double[4 * asteroids.size()];
+		for (int i = 0; i < asteroids.size(); i++) {
+			result[4*i] = asteroids.get(i).getPosition().getXComponent();
+			result[4*i+1] = asteroids.get(i).getPosition().getYComponent();
+			result[4*i+2] = asteroids.get(i).getVelocity().getXComponent();
+			result[4*i+3] = asteroids.get(i).getVelocity().getYComponent();
+		}
+		return result;
+	}
+	
+	@Test // Do worlds with the same seed split their asteroids the same way?
+	public void testEvolve_SeededCase() {
+		double[] first = evolveSeeded(20, false);
+		assertTrue(first.length > 4);
+		assertTrue(Arrays.equals(first, evolveSeeded(20, false)));
+		assertFalse(Arrays.equals(first, evolveSeeded(21, false)));
+	}
+	
+	@Test // Does a world that pools its bullets reuse a terminated bullet as a new one?
+	public void testFireBullet_PoolingCase() {
+		World world = new World(1000,1000);
+		world.setPooling(true);
+		assertTrue(world.isPooling());
+		Ship ship = new Ship(new Vector(100,500), new Vector(0,0), 10, 10, Math.PI);
+		world.addAsCollidable(ship);
+		ship.fireBullet();
+		Bullet fired = world.getAllBullets().iterator().next();
+		while (!fired.isTerminated())
+			world.evolve(0.5);
+		world.evolve(0.1);
+		ship.fireBullet();
+		Bullet reused = world.getAllBullets().iterator().next();
+		assertSame(fired, reused);
+		assertFalse(reused.isTerminated());
+		assertFalse(reused.hasBouncedOnce());
+		assertSame(ship, reused.getSource());
+		assertSame(world, reused.getWorld());
+		world.setPooling(false);
+		assertFalse(world.isPooling());
+	}
+	
+	@Test // Does a world that pools its bullets stop allocating once its ship fires at a steady rate?
+	public void testGetNbPoolAllocations_SteadyFiringCase() {
+		World world = new World(1000,1000);
+		assertEquals(0, world.getNbPoolAllocations());
+		world.setPooling(true);
+		Ship ship = new Ship(new Vector(500,500), new Vector(0,0), 10, 10, Math.PI/4);
+		world.addAsCollidable(ship);
+		for (int k = 0; k < 200; k++) {
+			ship.fireBullet();
+			world.evolve(0.5);
+		}
+		long highWaterMark = world.getNbPoolAllocations();
+		assertTrue(highWaterMark > 0 && highWaterMark < 50);
+		for (int k = 0; k < 400; k++) {
+			ship.fireBullet();
+			world.evolve(0.5);
+		}
+		assertEquals(highWaterMark, world.getNbPoolAllocations());
+		assertFalse(ship.isTerminated());
+	}
+	
+	@Test // Does a pooling world take back the bullets it could not accept?
+	public void testFireBullet_PoolingRejectedCase() {
+		World world = new World(1000,1000);
+		world.setPooling(true);
+		Ship ship = new Ship(new Vector(500,500), new Vector(0,0), 10, 10, 0);
+		world.addAsCollidable(ship);
+		// the asteroid does not touch the ship, but overlaps every bullet it fires
+		world.addAsCollidable(new Asteroid(new Vector(530,500), new Vector(0,0), 15));
+		for (int k = 0; k < 50; k++) {
+			ship.fireBullet();
+			world.evolve(0.1);
+		}
+		assertTrue(ship.getAllBullets().isEmpty());
+		assertTrue(world.getAllBullets().isEmpty());
+		assertEquals(1, world.getNbPoolAllocations());
+	}
+	
+	@Test // Does a pooling world take back the children of an asteroid it could not accept?
+	public void testTerminate_PoolingRejectedChildrenCase() {
+		World world = new World(1000,1000,0,WorldConfig.getDefault().withMinRadius(20));
+		world.setPooling(true);
+		for (int k = 0; k < 50; k++) {
+			Asteroid asteroid = new Asteroid(new Vector(500,500), new Vector(10,0), 30);
+			world.addAsCollidable(asteroid);
+			asteroid.terminate();
+			assertTrue(world.getAllAsteroids().isEmpty());
+			world.evolve(0.1);
+		}
+		assertEquals(2, world.getNbPoolAllocations());
+	}
+	
+	@Test // Does a world that reuses its bullets and asteroids evolve the same way as one that does not?
+	public void testEvolve_PoolingCase() {
+		assertTrue(Arrays.equals(evolveSeeded(20, false), evolveSeeded(20, true)));
+		assertTrue(Arrays.equals(evolveSeeded(21, false), evolveSeeded(21, true)));
+	}
+	
+	/**
+	 * Evolve a world with the given seed in which bullets split an asteroid and its children,
+	 * and return the resulting positions and velocities of its asteroids.
+	 */
+	private static double[] evolveSeeded(long seed, boolean pooling) {
+		World world = new World(1000,1000,seed);
+		world.setPooling(pooling);
+		assertEquals(seed, world.getSeed());
+		world.addAsCollidable(new Asteroid(new Vector(500,500), new Vector(0,0), 80));
+		Ship[] ships = new Ship[] {
+				new Ship(new Vector(200,500), new Vector(0,0), 10, 10, 0),
+				new Ship(new Vector(500,200), new Vector(0,0), 10, 10, Math.PI/2),
+				new Ship(new Vector(800,500), new Vector(0,0), 10, 10, Math.PI)};
+		for (Ship ship : ships) {
+			world.addAsCollidable(ship);
+			ship.fireBullet();
+		}
+		for (int k = 0; k < 10; k++) {
+			world.evolve(0.5);
+			// a second volley, fired long after the bullets of the first one were terminated
+			if (k == 8)
+				for (Ship ship : ships)
+					ship.fireBullet();
+		}
+		List<Double> state = new ArrayList<Double>();
+		for (Collidable collidable : world.getAllCollidables()) {
+			if (collidable instanceof Asteroid) {
+				state.add(collidable.getPosition().getXComponent());
+				state.add(collidable.getPosition().getYComponent());
+				state.add(collidable.getVelocity().getXComponent());
+				state.add(collidable.getVelocity().getYComponent());
+			}
+		}
+		double[] result = new double[state.size()];
+		for (int i = 0; i < result.length; i++)
+			result[i] = state.get(i);
+		return result;
+	}
+	
+	@Test
+	public void testEvolve_ApproximateCase() {
+		World world = new World(500,500);
+		Asteroid first = new Asteroid(new Vector(100,250), new Vector(50,0), 10);
+		Asteroid second = new Asteroid(new Vector(300,250), new Vector(-50,0), 10);
+		Asteroid wall = new Asteroid(new Vector(250,450), new Vector(0,100), 10);
+		world.addAsCollidable(first);
+		world.addAsCollidable(second);
+		world.addAsCollidable(wall);
+		world.setApproximate(true);
+		for (int i = 0; i < 10; i++)
+			world.evolve(0.2);
+		assertTrue(first.getVelocity().getXComponent() < 0);
+		assertTrue(second.getVelocity().getXComponent() > 0);
+		assertTrue(wall.getVelocity().getYComponent() < 0);
+		assertTrue(world.getNbCollidables() == 3);
+	}
+	
+	@Test
+	public void testEvolve_ApproximateBudgetCase() {
+		World world = new World(500,500);
+		world.addAsCollidable(new Asteroid(new Vector(100,250), new Vector(50,0), 10));
+		world.setApproximate(true);
+		world.setFrameBudget(1);
+		world.evolve(1);
+		assertTrue(world.getCurrentSubstep() > world.getSubstep());
+		world.setFrameBudget(Long.MAX_VALUE);
+		for (int i = 0; i < 20; i++)
+			world.evolve(0.1);
+		assertEquals(world.getSubstep(), world.getCurrentSubstep(), 0);
+	}
+	
+	@Test // Does a step over its budget raise its sub-steps and report so only once?
+	public void testEvolve_ApproximateBudgetOnceCase() {
+		World world = new World(500,500);
+		world.addAsCollidable(new Asteroid(new Vector(100,250), new Vector(50,0), 10));
+		world.setApproximate(true);
+		world.setFrameBudget(1);
+		final List<LogRecord> warnings = new ArrayList<LogRecord>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				if (record.getLevel() == Level.WARNING)
+					warnings.add(record);
+			}
+			@Override
+			public void flush() {
+			}
+			@Override
+			public void close() {
+			}
+		};
+		Logger logger = Logger.getLogger("gameObjects.SubstepIntegrator");
+		logger.addHandler(handler);
+		try {
+			world.evolve(1);
+			assertEquals(2 * world.getSubstep(), world.getCurrentSubstep(), 0);
+			assertEquals(1, warnings.size());
+			world.evolve(1);
+			assertEquals(4 * world.getSubstep(), world.getCurrentSubstep(), 0);
+			assertEquals(2, warnings.size());
+		} finally {
+			logger.removeHandler(handler);
+		}
+	}
+	
+	@Test (expected = IllegalArgumentException.class)
+	public void testSetSubstep_IllegalCase() {
+		mutableWorld1.setSubstep(0);
+	}
+	
+	@Test
+	public void testEvolve_Counters() {
+		World world = new World(100,100);
+		world.addAsCollidable(new Asteroid(new Vector(50,50), new Vector(1000,0), 10));
+		world.evolve(1);
+		assertTrue(world.getNbProcessedCollisions() >= 10);
+		assertEquals(0,world.getNbDroppedCollisions());
+		assertEquals(1,world.getTime(),Util.EPSILON);
+	}
+	
+	@Test
+	public void testEvolve_MaxCollisionsCase() {
+		World world = new World(100,100);
+		world.addAsCollidable(new Asteroid(new Vector(50,50), new Vector(1000,0), 10));
+		world.setMaxCollisionsPerStep(5);
+		world.evolve(1);
+		assertEquals(5,world.getNbProcessedCollisions());
+		assertTrue(world.getNbDroppedCollisions() > 0);
+		assertTrue(world.getTime() < 1);
+	}
+	
+	@Test // Does a ship only thrust over the time a truncated step actually advanced?
+	public void testEvolve_TruncatedThrustCase() {
+		World world = new World(100,100,0,WorldConfig.getDefault().withThrusterAmount(1000));
+		Ship ship = new Ship(new Vector(50,50), new Vector(1000,0), 10, 10, 0);
+		world.addAsCollidable(ship);
+		ship.setThrusterEnabled(true);
+		world.setMaxCollisionsPerStep(5);
+		world.evolve(1);
+		assertEquals(0.36,world.getTime(),Util.EPSILON);
+		assertEquals(-1000 + 0.1 * world.getTime(),ship.getVelocity().getXComponent(),Util.EPSILON);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetMaxCollisionsPerStep_IllegalCase() {
+		mutableWorld1.setMaxCollisionsPerStep(0);
+	}
 }
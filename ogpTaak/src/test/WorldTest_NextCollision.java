@@ -3,6 +3,8 @@ package test;
 import static org.junit.Assert.*;
 
 import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import gameObjects.*;
 
@@ -58,6 +60,11 @@ public class WorldTest_NextCollision {
 	private Collidable collidable12;
 	private Collidable collidable13;
 	
+	/**
+	 * A crowded world containing asteroids with random positions and velocities.
+	 */
+	private World world5;
+	
 	@BeforeClass
 	public static void setUpBeforeClass() throws Exception {
 		
@@ -99,6 +106,16 @@ public class WorldTest_NextCollision {
 		collidable13 = new Ship(new Vector(900,900), new Vector(0,0), 10, 10, 0);
 		world4.addAsCollidable(collidable12);
 		world4.addAsCollidable(collidable13);
+		
+		world5 = new World(1000,1000);
+		Random random = new Random(42);
+		while (world5.getNbCollidables() < 200) {
+			double radius = 2 + 8*random.nextDouble();
+			Asteroid asteroid = new Asteroid(new Vector(20 + 960*random.nextDouble(), 20 + 960*random.nextDouble()), 
+					new Vector(100*random.nextDouble() - 50, 100*random.nextDouble() - 50), radius);
+			if (world5.canHaveAsCollidable(asteroid))
+				world5.addAsCollidable(asteroid);
+		}
 	}
 	
 	
@@ -193,5 +210,154 @@ public class WorldTest_NextCollision {
 	}
 	
 	
+	// Case 5: A crowded world, using a time horizon
+	
+	@Test // Does the broad phase find the same collision as the pairwise scan?
+	public void testGetNextCollisionWithOther_Case5() {
+		Collision bruteForce = world5.getNextCollisionWithOther();
+		for (double horizon : new double[] {0.001, 0.01, 0.1, 1, 10, 100}) {
+			Collision next = world5.getNextCollisionWithOther(horizon);
+			if (bruteForce != null && Util.fuzzyLessThanOrEqualTo(bruteForce.getTime(), horizon))
+				assertTrue(Util.fuzzyEquals(bruteForce.getTime(), next.getTime()));
+			else
+				assertEquals(next,null);
+		}
+	}
+	
+	@Test // Does the broad phase keep finding the same collision while the world evolves?
+	public void testGetNextCollisionWithOther_Case5_Evolving() {
+		for (int i = 0; i < 20; i++) {
+			Collision bruteForce = world5.getNextCollisionWithOther();
+			Collision next = world5.getNextCollisionWithOther(0.5);
+			if (bruteForce != null && Util.fuzzyLessThanOrEqualTo(bruteForce.getTime(), 0.5))
+				assertTrue(Util.fuzzyEquals(bruteForce.getTime(), next.getTime()));
+			else
+				assertEquals(next,null);
+			world5.evolve(0.1);
+		}
+	}
+	
+	@Test // Does the parallel search find exactly the same collisions as the sequential search?
+	public void testGetNextCollision_Case5_Parallel() {
+		for (int i = 0; i < 10; i++) {
+			Collision sequentialOther = world5.getNextCollisionWithOther();
+			Collision sequentialBoundary = world5.getNextCollisionWithBoundary();
+			world5.setParallelSearch(true);
+			Collision parallelOther = world5.getNextCollisionWithOther();
+			Collision parallelBoundary = world5.getNextCollisionWithBoundary();
+			world5.setParallelSearch(false);
+			assertEquals(sequentialOther,parallelOther);
+			assertTrue(sequentialOther.getTime() == parallelOther.getTime());
+			assertEquals(sequentialBoundary,parallelBoundary);
+			assertTrue(sequentialBoundary.getTime() == parallelBoundary.getTime());
+			world5.evolve(0.1);
+		}
+	}
+	
+	@Test // Does the sequential search of a large world run on the calling thread only, without forking to a pool?
+	public void testGetNextCollision_Case5_Sequential() throws Exception {
+		assertFalse(world5.isParallelSearch());
+		assertTrue(world5.getNbCollidables() >= 128);
+		long steals = getCommonPoolStealCount();
+		for (int i = 0; i < 50; i++) {
+			Collision collision = world5.getNextCollisionWithOther();
+			assertTrue(collision != null);
+			world5.setEntityStoreEnabled(i % 2 == 0);
+		}
+		assertEquals(steals, getCommonPoolStealCount());
+	}
+	
+	/**
+	 * Return the number of tasks stolen by the workers of the common fork/join pool, or zero if the platform has 
+	 * no common pool. Without a common pool, a task forked outside a pool fails outright instead.
+	 */
+	private static long getCommonPoolStealCount() throws Exception {
+		try {
+			ForkJoinPool common = (ForkJoinPool) ForkJoinPool.class.getMethod("commonPool").invoke(null);
+			return common.getStealCount();
+		} catch (NoSuchMethodException e) {
+			return 0;
+		}
+	}
+	
+	@Test // Does the parallel search over the entity store find exactly the same collisions as the sequential search?
+	public void testGetNextCollisionWithOther_Case5_ParallelEntityStore() {
+		for (int i = 0; i < 10; i++) {
+			Collision sequential = world5.getNextCollisionWithOther();
+			world5.setEntityStoreEnabled(true);
+			world5.setParallelSearch(true);
+			Collision parallel = world5.getNextCollisionWithOther();
+			world5.setParallelSearch(false);
+			world5.setEntityStoreEnabled(false);
+			assertEquals(sequential, parallel);
+			assertTrue(sequential.getTime() == parallel.getTime());
+			world5.evolve(0.1);
+		}
+	}
+	
+	@Test // Does the search over the entity store find the same collisions, also after removing collidables?
+	public void testGetNextCollisionWithOther_Case5_EntityStore() {
+		for (int i = 0; i < 10; i++) {
+			Collision direct = world5.getNextCollisionWithOther();
+			world5.setEntityStoreEnabled(true);
+			Collision stored = world5.getNextCollisionWithOther();
+			assertEquals(direct,stored);
+			world5.evolve(0.1);
+			world5.removeAsCollidable(world5.getAllAsteroids().iterator().next());
+			Collision afterRemoval = world5.getNextCollisionWithOther();
+			world5.setEntityStoreEnabled(false);
+			assertSamePair(world5.getNextCollisionWithOther(),afterRemoval);
+		}
+	}
+	
+	/**
+	 * Check that both collisions happen at the same time between the same collidables, in either order.
+	 * Removing a collidable from the entity store moves another collidable to its slot, so the store may
+	 * list both collidables of a collision in the opposite order.
+	 */
+	private static void assertSamePair(Collision expected, Collision actual) {
+		assertTrue(Util.fuzzyEquals(expected.getTime(), actual.getTime()));
+		assertTrue((expected.getFirst() == actual.getFirst() && expected.getSecond() == actual.getSecond())
+				|| (expected.getFirst() == actual.getSecond() && expected.getSecond() == actual.getFirst()));
+	}
+	
+	@Test // Does the boundary heap keep finding the earliest boundary collision while the world evolves?
+	public void testGetNextCollisionWithBoundary_Case5_Evolving() {
+		for (int i = 0; i < 20; i++) {
+			double earliest = Double.POSITIVE_INFINITY;
+			for (Collidable collidable : world5.getAllCollidables())
+				if (Util.fuzzyLessThanOrEqualTo(0, collidable.getDistanceToClosestBoundary()))
+					earliest = Math.min(earliest, collidable.getTimeToCollisionWithBoundary());
+			assertTrue(Util.fuzzyEquals(earliest, world5.getNextCollisionWithBoundary().getTime()));
+			world5.evolve(0.5);
+		}
+	}
+	
+	@Test // Does the boundary heap stay bounded while many bullets are fired and terminated?
+	public void testGetBoundaryHeapSize_FiringCase() {
+		World world = new World(200,200);
+		Ship ship = new Ship(new Vector(100,100), new Vector(0,0), 10, 10, 0);
+		world.addAsCollidable(ship);
+		int fired = 0;
+		for (int k = 0; k < 2000; k++) {
+			ship.turn(0.7);
+			if (ship.canFireBullets()) {
+				ship.fireBullet();
+				fired++;
+			}
+			world.evolve(0.05);
+			assertTrue(world.getBoundaryHeapSize() <= 4 * world.getNbCollidables() + 16);
+		}
+		assertTrue(fired > 300);
+		assertTrue(ship.getWorld() == world);
+	}
+	
+	@Test // Does a horizon too short for the first collision return null?
+	public void testGetNextCollisionWithOther_Case2_Horizon() {
+		assertEquals(world2.getNextCollisionWithOther(1.0),null);
+		assertTrue(Util.fuzzyEquals(world2.getNextCollisionWithOther(100.0).getTime(),world2.getNextCollisionWithOther().getTime()));
+	}
+	
+	
 	
 }
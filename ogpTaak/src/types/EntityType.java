@@ -9,6 +9,9 @@ public class EntityType extends Type {
 	}
 	
 	public EntityType(Collidable entity) {
+		// a program may keep the entity from one step to the next, so its world must never reuse it
+		if (entity != null)
+			entity.markReferencedByProgram();
 		this.value = entity;
 	}
 	